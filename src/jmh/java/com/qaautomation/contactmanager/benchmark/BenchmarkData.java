@@ -0,0 +1,27 @@
+package com.qaautomation.contactmanager.benchmark;
+
+import com.qaautomation.contactmanager.Contact;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic contact datasets shared by the benchmarks
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static List<Contact> contacts(int count) {
+        return contacts("User", count);
+    }
+
+    static List<Contact> contacts(String namePrefix, int count) {
+        List<Contact> contacts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            contacts.add(Contact.createContact(namePrefix + " " + i, String.format("555-%07d", i)));
+        }
+        return contacts;
+    }
+}
@@ -0,0 +1,97 @@
+package com.qaautomation.contactmanager.benchmark;
+
+import com.qaautomation.contactmanager.Contact;
+import com.qaautomation.contactmanager.MobilePhone;
+import com.qaautomation.contactmanager.data.CsvContactFormat;
+import com.qaautomation.contactmanager.data.ExcelDataReader;
+import com.qaautomation.contactmanager.data.JsonLinesContactFormat;
+import com.qaautomation.contactmanager.data.StreamingExcelReader;
+import com.qaautomation.contactmanager.data.StreamingExcelWriter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingest and export cost of the same phonebook as XLSX, CSV and JSON lines
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class ContactFormatBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    private MobilePhone phone;
+    private Path workbook;
+    private Path csv;
+    private Path jsonLines;
+    private Path output;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<Contact> contacts = BenchmarkData.contacts(size);
+        phone = new MobilePhone("061-FORMAT");
+        phone.addAllContacts(contacts);
+
+        workbook = Files.createTempFile("contacts-" + size + "-", ".xlsx");
+        StreamingExcelWriter.writeContacts(workbook.toString(), contacts::forEach);
+
+        csv = Files.createTempFile("contacts-" + size + "-", ".csv");
+        CsvContactFormat.exportContacts(phone, csv.toString());
+        jsonLines = Files.createTempFile("contacts-" + size + "-", ".jsonl");
+        JsonLinesContactFormat.exportContacts(phone, jsonLines.toString());
+        output = Files.createTempFile("contacts-export-", ".tmp");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(workbook);
+        Files.deleteIfExists(csv);
+        Files.deleteIfExists(jsonLines);
+        Files.deleteIfExists(output);
+    }
+
+    @Benchmark
+    public List<Contact> readExcelWorkbook() {
+        return ExcelDataReader.tryReadContactsFromExcel(workbook.toString());
+    }
+
+    @Benchmark
+    public int streamExcel(Blackhole blackhole) throws IOException {
+        return StreamingExcelReader.readContacts(workbook.toString(), blackhole::consume);
+    }
+
+    @Benchmark
+    public int streamCsv(Blackhole blackhole) throws IOException {
+        return CsvContactFormat.readContacts(csv.toString(), blackhole::consume);
+    }
+
+    @Benchmark
+    public int streamJsonLines(Blackhole blackhole) throws IOException {
+        return JsonLinesContactFormat.readContacts(jsonLines.toString(), blackhole::consume);
+    }
+
+    @Benchmark
+    public int exportCsv() throws IOException {
+        return CsvContactFormat.exportContacts(phone, output.toString());
+    }
+
+    @Benchmark
+    public int exportExcel() throws IOException {
+        return StreamingExcelWriter.exportContacts(phone, output.toString());
+    }
+
+    @Benchmark
+    public int exportJsonLines() throws IOException {
+        return JsonLinesContactFormat.exportContacts(phone, output.toString());
+    }
+}
@@ -0,0 +1,52 @@
+package com.qaautomation.contactmanager.benchmark;
+
+import com.qaautomation.contactmanager.MobilePhone;
+import com.qaautomation.contactmanager.persistence.ContactSnapshot;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup cost of restoring a phonebook from a binary snapshot
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ContactSnapshotBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private MobilePhone phone;
+    private Path snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        phone = new MobilePhone("061-BENCH");
+        phone.addAllContacts(BenchmarkData.contacts(size));
+        snapshot = Files.createTempFile("contacts-" + size + "-", ".snapshot");
+        ContactSnapshot.save(phone, snapshot);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(snapshot);
+    }
+
+    @Benchmark
+    public MobilePhone load() throws IOException {
+        return ContactSnapshot.load(snapshot);
+    }
+
+    @Benchmark
+    public Path save() throws IOException {
+        ContactSnapshot.save(phone, snapshot);
+        return snapshot;
+    }
+}
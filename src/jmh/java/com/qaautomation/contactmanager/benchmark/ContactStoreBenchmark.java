@@ -0,0 +1,116 @@
+package com.qaautomation.contactmanager.benchmark;
+
+import com.qaautomation.contactmanager.Contact;
+import com.qaautomation.contactmanager.MobilePhone;
+import com.qaautomation.contactmanager.store.ColumnarContactStore;
+import com.qaautomation.contactmanager.store.ContactStore;
+import com.qaautomation.contactmanager.store.ListContactStore;
+import com.qaautomation.contactmanager.store.OffHeapContactStore;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Storage engines compared on retained heap per contact and on the CRUD hot paths.
+ * The footprint is measured once per trial from the heap delta of building the phonebook
+ * and printed with the results as "bytes per contact"; the off-heap store also reports
+ * the native memory it reserved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-XX:+UseParallelGC"})
+public class ContactStoreBenchmark {
+
+    @Param({"list", "columnar", "offheap"})
+    private String store;
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    private ContactStore contactStore;
+    private MobilePhone phone;
+    private List<Contact> probes;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        probes = BenchmarkData.contacts("Probe", 1024);
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long before = usedHeapAfterGc(memory);
+        contactStore = newStore(store);
+        phone = new MobilePhone("061-STORE", contactStore);
+        // Contacts are created inside the measurement so the list store retains them and the columnar one does not
+        for (int i = 0; i < size; i++) {
+            phone.addNewContact(Contact.createContact("User " + i, String.format("555-%07d", i)));
+        }
+        long retained = usedHeapAfterGc(memory) - before;
+        System.out.printf("%n%s store: %d contacts retain %,d bytes = %.1f bytes per contact%n",
+                store, size, retained, (double) retained / size);
+        if (contactStore instanceof OffHeapContactStore) {
+            long offHeap = ((OffHeapContactStore) contactStore).getOffHeapBytes();
+            System.out.printf("offheap store: %,d bytes of direct memory = %.1f bytes per contact%n",
+                    offHeap, (double) offHeap / size);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (contactStore instanceof OffHeapContactStore) {
+            ((OffHeapContactStore) contactStore).close();
+        }
+    }
+
+    static ContactStore newStore(String name) {
+        switch (name) {
+            case "list":
+                return new ListContactStore();
+            case "columnar":
+                return new ColumnarContactStore();
+            case "offheap":
+                return new OffHeapContactStore();
+            default:
+                throw new IllegalArgumentException("Unknown store: " + name);
+        }
+    }
+
+    private static long usedHeapAfterGc(MemoryMXBean memory) {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private int next(int bound) {
+        cursor = (cursor + 7919) % bound;
+        return cursor;
+    }
+
+    @Benchmark
+    public Contact queryContact() {
+        return phone.queryContact("User " + next(size));
+    }
+
+    /**
+     * Adds a contact that is not present yet, then removes it again
+     */
+    @Benchmark
+    public boolean addAndRemove() {
+        Contact probe = probes.get(next(probes.size()));
+        boolean added = phone.addNewContact(probe);
+        phone.removeContact(probe);
+        return added;
+    }
+
+    @Benchmark
+    public void forEachContact(Blackhole blackhole) {
+        phone.forEachContact(blackhole::consume);
+    }
+}
@@ -0,0 +1,53 @@
+package com.qaautomation.contactmanager.benchmark;
+
+import com.qaautomation.contactmanager.Contact;
+import com.qaautomation.contactmanager.data.ExcelDataReader;
+import com.qaautomation.contactmanager.data.StreamingExcelReader;
+import com.qaautomation.contactmanager.data.StreamingExcelWriter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of parsing an XLSX phonebook at different row counts,
+ * workbook (DOM) reader versus the SAX streaming reader
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class ExcelDataReaderBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private Path workbook;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        workbook = Files.createTempFile("contacts-" + size + "-", ".xlsx");
+        StreamingExcelWriter.writeContacts(workbook.toString(), BenchmarkData.contacts(size)::forEach);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(workbook);
+    }
+
+    @Benchmark
+    public List<Contact> tryReadContactsFromExcel() {
+        return ExcelDataReader.tryReadContactsFromExcel(workbook.toString());
+    }
+
+    @Benchmark
+    public int streamContactsFromExcel(Blackhole blackhole) throws IOException {
+        return StreamingExcelReader.readContacts(workbook.toString(), blackhole::consume);
+    }
+}
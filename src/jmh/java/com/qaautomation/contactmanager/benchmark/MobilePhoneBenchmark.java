@@ -0,0 +1,208 @@
+package com.qaautomation.contactmanager.benchmark;
+
+import com.qaautomation.contactmanager.Contact;
+import com.qaautomation.contactmanager.MobilePhone;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.text.Collator;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the MobilePhone CRUD hot paths at different phonebook sizes.
+ * Mutating benchmarks undo their own change so the phonebook stays at the configured size.
+ * The metrics parameter measures the cost of operation counters against the uninstrumented path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MobilePhoneBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean metrics;
+
+    private List<Contact> contacts;
+    private List<Contact> probes;
+    private MobilePhone phone;
+    private Collator collator;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        contacts = BenchmarkData.contacts(size);
+        probes = BenchmarkData.contacts("Probe", 1024);
+        phone = newPhone();
+        collator = Collator.getInstance(Locale.GERMAN);
+        collator.setStrength(Collator.SECONDARY);
+    }
+
+    /**
+     * A phonebook loaded with the dataset and only the default indexes; benchmarks that need
+     * a lazily attached index get their own copy, so the others do not pay for maintaining it
+     */
+    private MobilePhone newPhone() {
+        MobilePhone loaded = new MobilePhone("061-BENCH");
+        if (metrics) {
+            loaded.enableMetrics();
+        }
+        loaded.addAllContacts(contacts);
+        return loaded;
+    }
+
+    /**
+     * Phonebook with the trigram index attached, used only by searchFuzzy
+     */
+    @State(Scope.Benchmark)
+    public static class FuzzyIndexedPhone {
+        private MobilePhone phone;
+
+        @Setup(Level.Trial)
+        public void setUp(MobilePhoneBenchmark benchmark) {
+            phone = benchmark.newPhone();
+            phone.searchFuzzy("", 1);
+        }
+    }
+
+    /**
+     * Phonebook with the German sorted view attached, used only by the sorted-view benchmarks
+     */
+    @State(Scope.Benchmark)
+    public static class NameSortedPhone {
+        private MobilePhone phone;
+
+        @Setup(Level.Trial)
+        public void setUp(MobilePhoneBenchmark benchmark) {
+            phone = benchmark.newPhone();
+            phone.getContactsInNameRange(null, null, Locale.GERMAN, 1);
+        }
+    }
+
+    private int next(int bound) {
+        cursor = (cursor + 7919) % bound;
+        return cursor;
+    }
+
+    /**
+     * Adds a contact that is not present yet, then removes it again
+     */
+    @Benchmark
+    public boolean addNewContact() {
+        Contact probe = probes.get(next(probes.size()));
+        boolean added = phone.addNewContact(probe);
+        phone.removeContact(probe);
+        return added;
+    }
+
+    /**
+     * Removes an existing contact from anywhere in the list, then adds it back
+     */
+    @Benchmark
+    public boolean removeContact() {
+        Contact existing = contacts.get(next(size));
+        boolean removed = phone.removeContact(existing);
+        phone.addNewContact(existing);
+        return removed;
+    }
+
+    @Benchmark
+    public Contact queryContact() {
+        return phone.queryContact(contacts.get(next(size)).getName());
+    }
+
+    /**
+     * Misspelled name ("Usr" for "User"); the fuzzy index is built in FuzzyIndexedPhone's setUp
+     */
+    @Benchmark
+    public List<Contact> searchFuzzy(FuzzyIndexedPhone indexed) {
+        return indexed.phone.searchFuzzy("Usr " + next(size), 10);
+    }
+
+    @Benchmark
+    public List<Contact> getAllContacts() {
+        return phone.getAllContacts();
+    }
+
+    /**
+     * Copy-on-write view: no copy as long as the phonebook is not modified in between
+     */
+    @Benchmark
+    public List<Contact> getContactsView() {
+        return phone.getContactsView();
+    }
+
+    /**
+     * Copies the maintained German sort order; the sorted view is built in NameSortedPhone's setUp
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Contact> getContactsSortedByName(NameSortedPhone sorted) {
+        return sorted.phone.getContactsSortedByName(Locale.GERMAN);
+    }
+
+    /**
+     * Baseline for getContactsSortedByName: sorting a copy with a Collator on every request
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Contact> sortCopyWithCollator() {
+        List<Contact> copy = phone.getAllContacts();
+        copy.sort(Comparator.comparing(Contact::getName, collator));
+        return copy;
+    }
+
+    /**
+     * First 50 names of a range starting anywhere in the phonebook
+     */
+    @Benchmark
+    public List<Contact> getContactsInNameRange(NameSortedPhone sorted) {
+        return sorted.phone.getContactsInNameRange("User " + next(size), null, Locale.GERMAN, 50);
+    }
+
+    @Benchmark
+    public long countContactsParallel() {
+        return phone.streamContacts().parallel().filter(contact -> contact.getPhoneNumber().endsWith("7")).count();
+    }
+
+    /**
+     * Bulk-loads the whole dataset into an empty phonebook (bulkAddContacts path)
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void addAllContacts(Blackhole blackhole) {
+        MobilePhone fresh = new MobilePhone("061-BULK");
+        if (metrics) {
+            fresh.enableMetrics();
+        }
+        blackhole.consume(fresh.addAllContacts(contacts));
+        blackhole.consume(fresh);
+    }
+
+    /**
+     * Baseline for addAllContacts: the same load one addNewContact call at a time
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void addContactsOneByOne(Blackhole blackhole) {
+        MobilePhone fresh = new MobilePhone("061-BULK");
+        if (metrics) {
+            fresh.enableMetrics();
+        }
+        for (Contact contact : contacts) {
+            blackhole.consume(fresh.addNewContact(contact));
+        }
+        blackhole.consume(fresh);
+    }
+}
@@ -0,0 +1,242 @@
+package com.qaautomation.contactmanager;
+
+import com.qaautomation.contactmanager.index.ContactKeys;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe variant of MobilePhone for concurrent callers
+ * Reads are lock-free; writes lock only the stripe(s) owning the affected names,
+ * so the duplicate-name check and the mutation happen atomically without a global lock
+ *
+ * Reads are weakly consistent with respect to renames: updateContact to a different name
+ * stores the contact under the new name before removing the old one, so while a rename is
+ * in progress queryContact may find the contact under both names and getContactCount may
+ * be one too high. getAllContacts lists every contact exactly once: a scan that overlapped
+ * a rename (and so may have seen both names or neither) is retried, and after a few
+ * attempts the listing briefly locks all stripes instead.
+ */
+public class ConcurrentMobilePhone {
+
+    private static final int LOCK_STRIPES = 64;
+    private static final int LISTING_ATTEMPTS = 8;
+
+    private final String myNumber;
+    private final ConcurrentHashMap<String, Entry> myContacts;
+    private final ReentrantLock[] stripes;
+    // Insertion sequence, used to return contacts in the order they were added
+    private final AtomicLong sequence;
+    // A rename is in progress while renamesStarted is ahead of renamesFinished
+    private final AtomicLong renamesStarted = new AtomicLong();
+    private final AtomicLong renamesFinished = new AtomicLong();
+
+    public ConcurrentMobilePhone(String myNumber) {
+        if (myNumber == null || myNumber.trim().isEmpty()) {
+            throw new IllegalArgumentException("Phone number cannot be null or empty");
+        }
+        this.myNumber = myNumber.trim();
+        this.myContacts = new ConcurrentHashMap<>();
+        this.stripes = new ReentrantLock[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.sequence = new AtomicLong();
+    }
+
+    public String getMyNumber() {
+        return myNumber;
+    }
+
+    private int stripeFor(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1);
+    }
+
+    /**
+     * Adds new contact if it doesn't exist
+     * Returns true if added, false if duplicate
+     */
+    public boolean addNewContact(Contact contact) {
+        String key = ContactKeys.nameKey(contact.getName());
+        ReentrantLock lock = stripes[stripeFor(key)];
+        lock.lock();
+        try {
+            return myContacts.putIfAbsent(key, new Entry(sequence.incrementAndGet(), contact)) == null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Updates existing contact with new contact data, keeping its position
+     * Returns true if updated, false if contact doesn't exist
+     * or the new name already belongs to a different contact
+     */
+    public boolean updateContact(Contact oldContact, Contact newContact) {
+        String oldKey = ContactKeys.nameKey(oldContact.getName());
+        String newKey = ContactKeys.nameKey(newContact.getName());
+        int first = stripeFor(oldKey);
+        int second = stripeFor(newKey);
+        // Always lock stripes in ascending order so concurrent renames cannot deadlock
+        ReentrantLock outer = stripes[Math.min(first, second)];
+        ReentrantLock inner = stripes[Math.max(first, second)];
+        outer.lock();
+        inner.lock();
+        try {
+            Entry existing = myContacts.get(oldKey);
+            if (existing == null) {
+                return false;
+            }
+            Entry updated = new Entry(existing.sequence, newContact);
+            if (oldKey.equals(newKey)) {
+                myContacts.put(newKey, updated);
+                return true;
+            }
+            renamesStarted.incrementAndGet();
+            try {
+                if (myContacts.putIfAbsent(newKey, updated) != null) {
+                    return false;
+                }
+                myContacts.remove(oldKey);
+                return true;
+            } finally {
+                renamesFinished.incrementAndGet();
+            }
+        } finally {
+            inner.unlock();
+            outer.unlock();
+        }
+    }
+
+    /**
+     * Removes contact
+     * Returns true if removed, false if contact doesn't exist
+     */
+    public boolean removeContact(Contact contact) {
+        String key = ContactKeys.nameKey(contact.getName());
+        ReentrantLock lock = stripes[stripeFor(key)];
+        lock.lock();
+        try {
+            return myContacts.remove(key) != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queries contact by name (case-insensitive)
+     * Returns Contact object or null if not found
+     */
+    public Contact queryContact(String contactName) {
+        if (contactName == null) {
+            return null;
+        }
+        Entry entry = myContacts.get(ContactKeys.nameKey(contactName));
+        return entry == null ? null : entry.contact;
+    }
+
+    /**
+     * Checks if contact exists by name
+     */
+    public boolean contactExists(String contactName) {
+        return queryContact(contactName) != null;
+    }
+
+    /**
+     * Returns number of contacts
+     */
+    public int getContactCount() {
+        return myContacts.size();
+    }
+
+    /**
+     * Returns a weakly consistent copy of all contacts in insertion order; adds and removes
+     * may or may not be reflected, but a contact being renamed appears exactly once
+     */
+    public List<Contact> getAllContacts() {
+        for (int attempt = 0; attempt < LISTING_ATTEMPTS; attempt++) {
+            // Finished before started: a rename finishing in between shows up as one in flight
+            long finished = renamesFinished.get();
+            long started = renamesStarted.get();
+            if (started != finished) {
+                Thread.yield();
+                continue;
+            }
+            List<Entry> entries = new ArrayList<>(myContacts.values());
+            if (renamesStarted.get() == started) {
+                return inInsertionOrder(entries);
+            }
+        }
+
+        // Renames keep overlapping the scan; hold every stripe so none can run
+        for (ReentrantLock lock : stripes) {
+            lock.lock();
+        }
+        try {
+            return inInsertionOrder(new ArrayList<>(myContacts.values()));
+        } finally {
+            for (int i = stripes.length - 1; i >= 0; i--) {
+                stripes[i].unlock();
+            }
+        }
+    }
+
+    private static List<Contact> inInsertionOrder(List<Entry> entries) {
+        entries.sort(Comparator.comparingLong(entry -> entry.sequence));
+        List<Contact> contacts = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            contacts.add(entry.contact);
+        }
+        return contacts;
+    }
+
+    /**
+     * Bulk add contacts from list
+     * Returns number of successfully added contacts
+     */
+    public int addAllContacts(List<Contact> contacts) {
+        int addedCount = 0;
+        for (Contact contact : contacts) {
+            if (addNewContact(contact)) {
+                addedCount++;
+            }
+        }
+        return addedCount;
+    }
+
+    /**
+     * Clears all contacts; holds every stripe so no write interleaves with the clear
+     */
+    public void clearAllContacts() {
+        for (ReentrantLock lock : stripes) {
+            lock.lock();
+        }
+        try {
+            myContacts.clear();
+        } finally {
+            for (int i = stripes.length - 1; i >= 0; i--) {
+                stripes[i].unlock();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrentMobilePhone{number='" + myNumber + "', contacts=" + myContacts.size() + "}";
+    }
+
+    private static final class Entry {
+        private final long sequence;
+        private final Contact contact;
+
+        private Entry(long sequence, Contact contact) {
+            this.sequence = sequence;
+            this.contact = contact;
+        }
+    }
+}
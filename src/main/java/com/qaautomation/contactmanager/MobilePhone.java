@@ -1,7 +1,26 @@
 package com.qaautomation.contactmanager;
 
+import com.qaautomation.contactmanager.index.CollatedNameIndex;
+import com.qaautomation.contactmanager.index.ContactIndex;
+import com.qaautomation.contactmanager.index.ContactKeys;
+import com.qaautomation.contactmanager.index.FuzzyNameIndex;
+import com.qaautomation.contactmanager.index.NamePrefixIndex;
+import com.qaautomation.contactmanager.index.PhoneNumberIndex;
+import com.qaautomation.contactmanager.index.PhoneticNameIndex;
+import com.qaautomation.contactmanager.index.SortedNumberIndex;
+import com.qaautomation.contactmanager.metrics.ContactMetrics;
+import com.qaautomation.contactmanager.store.ContactStore;
+import com.qaautomation.contactmanager.store.ListContactStore;
+
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Mobile Phone contact management system
@@ -9,14 +28,41 @@ import java.util.List;
  */
 public class MobilePhone {
     private final String myNumber;
-    private final ArrayList<Contact> myContacts;
+    // Contacts in insertion order, addressed by case-insensitive name key
+    private final ContactStore myContacts;
+    // Secondary indexes are attached on first use and then maintained on every mutation
+    private final List<ContactIndex> secondaryIndexes;
+    private PhoneNumberIndex phoneNumberIndex;
+    private NamePrefixIndex namePrefixIndex;
+    private FuzzyNameIndex fuzzyNameIndex;
+    private PhoneticNameIndex phoneticNameIndex;
+    private SortedNumberIndex sortedNumberIndex;
+    // One sorted view per locale asked for
+    private final Map<Locale, CollatedNameIndex> collatedNameIndexes;
+    // Null unless enableMetrics() was called, so uninstrumented phones only pay a null check
+    private ContactMetrics metrics;
+    // Bumped by every successful change to the contacts
+    private long modificationCount;
 
     public MobilePhone(String myNumber) {
+        this(myNumber, new ListContactStore());
+    }
+
+    /**
+     * Creates a phone backed by the given storage engine, e.g. a ColumnarContactStore
+     * for large phonebooks. The store must be empty and not shared with another phone.
+     */
+    public MobilePhone(String myNumber, ContactStore store) {
         if (myNumber == null || myNumber.trim().isEmpty()) {
             throw new IllegalArgumentException("Phone number cannot be null or empty");
         }
+        if (store == null || store.size() != 0) {
+            throw new IllegalArgumentException("Contact store must be empty");
+        }
         this.myNumber = myNumber.trim();
-        this.myContacts = new ArrayList<>();
+        this.myContacts = store;
+        this.secondaryIndexes = new ArrayList<>();
+        this.collatedNameIndexes = new HashMap<>();
     }
 
     public String getMyNumber() {
@@ -24,30 +70,71 @@ public class MobilePhone {
     }
 
     /**
-     * Finds contact by Contact object
-     * Returns position or -1 if not found
+     * Number of successful adds, updates, removes and clears so far; callers holding
+     * a copy of the contacts (e.g. a saved snapshot) compare it to tell whether the copy is stale
      */
-    private int findContact(Contact contact) {
-        for (int i = 0; i < myContacts.size(); i++) {
-            Contact existingContact = myContacts.get(i);
-            if (existingContact.getName().equalsIgnoreCase(contact.getName())) {
-                return i;
-            }
-        }
-        return -1;
+    public long getModificationCount() {
+        return modificationCount;
     }
 
     /**
      * Finds contact by contact name (case-insensitive)
-     * Returns position or -1 if not found
+     * Returns stored contact or null if not found
      */
-    private int findContact(String contactName) {
-        for (int i = 0; i < myContacts.size(); i++) {
-            if (myContacts.get(i).getName().equalsIgnoreCase(contactName)) {
-                return i;
-            }
+    private Contact findContact(String contactName) {
+        ContactMetrics metrics = this.metrics;
+        if (metrics == null) {
+            return lookup(contactName);
+        }
+        long start = System.nanoTime();
+        Contact contact = lookup(contactName);
+        metrics.recordLookup(contact != null, System.nanoTime() - start);
+        return contact;
+    }
+
+    /**
+     * Finds contact by contact name without counting it as a lookup, for subclasses that
+     * check whether a mutation will succeed before performing it
+     */
+    protected Contact lookup(String contactName) {
+        if (contactName == null) {
+            return null;
+        }
+        return myContacts.get(ContactKeys.nameKey(contactName));
+    }
+
+    /**
+     * Starts counting lookups, adds, updates and removes
+     * Returns the counters; calling it again returns the same instance
+     */
+    public ContactMetrics enableMetrics() {
+        if (metrics == null) {
+            metrics = new ContactMetrics();
         }
-        return -1;
+        return metrics;
+    }
+
+    /**
+     * Stops counting; counters collected so far stay readable through the returned instance
+     */
+    public void disableMetrics() {
+        metrics = null;
+    }
+
+    /**
+     * Returns the counters, or null if metrics are not enabled
+     */
+    public ContactMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Populates a secondary index from the current contacts and keeps it in sync from now on
+     */
+    private <T extends ContactIndex> T attachIndex(T index) {
+        myContacts.forEach(index::add);
+        secondaryIndexes.add(index);
+        return index;
     }
 
     /**
@@ -55,24 +142,50 @@ public class MobilePhone {
      * Returns true if added, false if duplicate
      */
     public boolean addNewContact(Contact contact) {
-        if (findContact(contact) >= 0) {
+        if (!myContacts.add(ContactKeys.nameKey(contact.getName()), contact)) {
+            if (metrics != null) {
+                metrics.recordAdd(false);
+            }
             return false;
         }
-        myContacts.add(contact);
+        modificationCount++;
+        for (ContactIndex index : secondaryIndexes) {
+            index.add(contact);
+        }
+        if (metrics != null) {
+            metrics.recordAdd(true);
+        }
         return true;
     }
 
     /**
      * Updates existing contact with new contact data
      * Returns true if updated, false if contact doesn't exist
+     * or the new name already belongs to a different contact
      */
     public boolean updateContact(Contact oldContact, Contact newContact) {
-        int position = findContact(oldContact);
-        if (position >= 0) {
-            myContacts.set(position, newContact);
-            return true;
+        String oldKey = ContactKeys.nameKey(oldContact.getName());
+        String newKey = ContactKeys.nameKey(newContact.getName());
+        Contact existing = null;
+        if (newKey.equals(oldKey) || !myContacts.contains(newKey)) {
+            existing = myContacts.replace(oldKey, newKey, newContact);
+        }
+        if (existing == null) {
+            if (metrics != null) {
+                metrics.recordUpdate(false);
+            }
+            return false;
+        }
+
+        modificationCount++;
+        for (ContactIndex index : secondaryIndexes) {
+            index.remove(existing);
+            index.add(newContact);
         }
-        return false;
+        if (metrics != null) {
+            metrics.recordUpdate(true);
+        }
+        return true;
     }
 
     /**
@@ -80,12 +193,21 @@ public class MobilePhone {
      * Returns true if removed, false if contact doesn't exist
      */
     public boolean removeContact(Contact contact) {
-        int position = findContact(contact);
-        if (position >= 0) {
-            myContacts.remove(position);
-            return true;
+        Contact existing = myContacts.remove(ContactKeys.nameKey(contact.getName()));
+        if (existing == null) {
+            if (metrics != null) {
+                metrics.recordRemove(false);
+            }
+            return false;
+        }
+        modificationCount++;
+        for (ContactIndex index : secondaryIndexes) {
+            index.remove(existing);
+        }
+        if (metrics != null) {
+            metrics.recordRemove(true);
         }
-        return false;
+        return true;
     }
 
     /**
@@ -93,11 +215,149 @@ public class MobilePhone {
      * Returns Contact object or null if not found
      */
     public Contact queryContact(String contactName) {
-        int position = findContact(contactName);
-        if (position >= 0) {
-            return myContacts.get(position);
+        return findContact(contactName);
+    }
+
+    /**
+     * Reverse lookup by phone number, ignoring formatting
+     * ("555-0101", "5550101" and "(555) 0101" match the same contact)
+     * Returns the first contact with that number or null if not found
+     */
+    public Contact queryByPhoneNumber(String phoneNumber) {
+        if (phoneNumber == null || phoneNumber.trim().isEmpty()) {
+            return null;
+        }
+        if (phoneNumberIndex == null) {
+            phoneNumberIndex = attachIndex(new PhoneNumberIndex());
+        }
+        return phoneNumberIndex.find(phoneNumber);
+    }
+
+    /**
+     * Type-ahead search: returns up to limit contacts whose name starts
+     * with the prefix (case-insensitive), sorted by name
+     */
+    public List<Contact> searchByPrefix(String prefix, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative: " + limit);
+        }
+        if (prefix == null || limit == 0) {
+            return Collections.emptyList();
+        }
+        if (namePrefixIndex == null) {
+            namePrefixIndex = attachIndex(new NamePrefixIndex());
+        }
+        return namePrefixIndex.findByPrefix(prefix, limit);
+    }
+
+    /**
+     * Typo-tolerant search: returns up to limit contacts ranked by edit distance to the name
+     * (case-insensitive, closest first), tolerating more typos the longer the name is
+     */
+    public List<Contact> searchFuzzy(String name, int limit) {
+        return searchFuzzy(name, name == null ? 0 : FuzzyNameIndex.defaultMaxDistance(name.length()), limit);
+    }
+
+    /**
+     * Typo-tolerant search: returns up to limit contacts within maxDistance edits of the name
+     * (insert, delete, replace or swap two neighbouring characters), closest first
+     */
+    public List<Contact> searchFuzzy(String name, int maxDistance, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative: " + limit);
+        }
+        if (maxDistance < 0) {
+            throw new IllegalArgumentException("Max distance cannot be negative: " + maxDistance);
+        }
+        if (name == null || limit == 0) {
+            return Collections.emptyList();
+        }
+        if (fuzzyNameIndex == null) {
+            fuzzyNameIndex = attachIndex(new FuzzyNameIndex());
+        }
+        return fuzzyNameIndex.findSimilar(name, maxDistance, limit);
+    }
+
+    /**
+     * Sound-alike search: returns up to limit contacts whose name sounds like the given one,
+     * sorted by name. Every word of the query must sound like a word of the contact's name,
+     * in any order ("Stoilkovich" finds "Marko Stojilković").
+     */
+    public List<Contact> searchPhonetic(String name, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative: " + limit);
+        }
+        if (name == null || limit == 0) {
+            return Collections.emptyList();
+        }
+        if (phoneticNameIndex == null) {
+            phoneticNameIndex = attachIndex(new PhoneticNameIndex());
+        }
+        return phoneticNameIndex.findSoundAlike(name, limit);
+    }
+
+    /**
+     * Returns all contacts sorted by name in the alphabetical order of the locale (case-insensitive).
+     * The sorted view is built on first use per locale and kept sorted by every change,
+     * so later calls copy it in O(n) instead of sorting.
+     */
+    public List<Contact> getContactsSortedByName(Locale locale) {
+        return collatedNameIndex(locale).sorted();
+    }
+
+    /**
+     * Returns up to limit contacts, sorted by name in the locale's order, from fromName
+     * (inclusive) to toName (exclusive); a null bound leaves that side open.
+     * Names from K to M: getContactsInNameRange("K", "N", locale, limit).
+     */
+    public List<Contact> getContactsInNameRange(String fromName, String toName, Locale locale, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative: " + limit);
+        }
+        if (limit == 0) {
+            return Collections.emptyList();
+        }
+        return collatedNameIndex(locale).range(fromName, toName, limit);
+    }
+
+    /**
+     * Returns all contacts sorted by phone number, comparing digits only
+     */
+    public List<Contact> getContactsSortedByNumber() {
+        return sortedNumberIndex().sorted();
+    }
+
+    /**
+     * Returns up to limit contacts, sorted by phone number, from fromNumber (inclusive) to
+     * toNumber (exclusive), ignoring formatting; a null bound leaves that side open
+     */
+    public List<Contact> getContactsInNumberRange(String fromNumber, String toNumber, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative: " + limit);
+        }
+        if (limit == 0) {
+            return Collections.emptyList();
+        }
+        return sortedNumberIndex().range(fromNumber, toNumber, limit);
+    }
+
+    private CollatedNameIndex collatedNameIndex(Locale locale) {
+        if (locale == null) {
+            throw new IllegalArgumentException("Locale cannot be null");
+        }
+        CollatedNameIndex index = collatedNameIndexes.get(locale);
+        if (index == null) {
+            index = attachIndex(new CollatedNameIndex(locale));
+            collatedNameIndexes.put(locale, index);
+        }
+        return index;
+    }
+
+    private SortedNumberIndex sortedNumberIndex() {
+        if (sortedNumberIndex == null) {
+            sortedNumberIndex = attachIndex(new SortedNumberIndex());
         }
-        return null;
+        return sortedNumberIndex;
     }
 
     /**
@@ -105,15 +365,14 @@ public class MobilePhone {
      */
     public void printContacts() {
         System.out.println("Contact List:");
-        if (myContacts.isEmpty()) {
+        if (myContacts.size() == 0) {
             System.out.println("  No contacts available");
             return;
         }
 
-        for (int i = 0; i < myContacts.size(); i++) {
-            Contact contact = myContacts.get(i);
-            System.out.println((i + 1) + ". " + contact.getName() + " -> " + contact.getPhoneNumber());
-        }
+        int[] position = new int[1];
+        myContacts.forEach(contact -> System.out.println(
+                ++position[0] + ". " + contact.getName() + " -> " + contact.getPhoneNumber()));
     }
 
     /**
@@ -127,7 +386,51 @@ public class MobilePhone {
      * Returns copy of all contacts for testing purposes
      */
     public List<Contact> getAllContacts() {
-        return new ArrayList<>(myContacts);
+        List<Contact> contacts = new ArrayList<>(myContacts.size());
+        myContacts.forEach(contacts::add);
+        return contacts;
+    }
+
+    /**
+     * Returns a read-only view of the contacts as they are now; later changes to the phone
+     * do not show up in it. With the default store this is O(1): the view shares the
+     * phone's array and the next change copies it once (copy-on-write). Other stores
+     * copy the contacts.
+     */
+    public List<Contact> getContactsView() {
+        return myContacts.snapshot();
+    }
+
+    /**
+     * Streams a snapshot of the contacts in insertion order.
+     * The stream splits evenly, so parallel streams spread well across threads.
+     */
+    public Stream<Contact> streamContacts() {
+        return getContactsView().stream();
+    }
+
+    /**
+     * Returns up to limit contacts starting at offset (insertion order) as a read-only view.
+     * An offset past the end returns an empty page.
+     */
+    public List<Contact> getContactsPage(int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset cannot be negative: " + offset);
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative: " + limit);
+        }
+        List<Contact> view = getContactsView();
+        int from = Math.min(offset, view.size());
+        int to = (int) Math.min((long) from + limit, view.size());
+        return view.subList(from, to);
+    }
+
+    /**
+     * Passes every contact to the action in insertion order without copying the list
+     */
+    public void forEachContact(Consumer<? super Contact> action) {
+        myContacts.forEach(action);
     }
 
     /**
@@ -135,13 +438,50 @@ public class MobilePhone {
      * Returns number of successfully added contacts
      */
     public int addAllContacts(List<Contact> contacts) {
-        int addedCount = 0;
-        for (Contact contact : contacts) {
-            if (addNewContact(contact)) {
-                addedCount++;
+        return bulkAddContacts(contacts).getAddedCount();
+    }
+
+    /**
+     * Bulk add: sizes the store once for the whole batch, then adds it in one hashing pass
+     * in which the store itself detects names repeated within the batch (the first one wins).
+     * Names already in a non-empty phonebook are filtered out beforehand.
+     * Returns what was added and why the rest was skipped.
+     */
+    public BulkAddResult bulkAddContacts(Collection<Contact> contacts) {
+        Collection<Contact> candidates = contacts;
+        int skippedExisting = 0;
+        if (myContacts.size() != 0) {
+            List<Contact> newNames = new ArrayList<>(contacts.size());
+            for (Contact contact : contacts) {
+                if (myContacts.contains(ContactKeys.nameKey(contact.getName()))) {
+                    skippedExisting++;
+                } else {
+                    newNames.add(contact);
+                }
             }
+            candidates = newNames;
         }
-        return addedCount;
+
+        myContacts.ensureCapacity(candidates.size());
+        List<Contact> added = new ArrayList<>(candidates.size());
+        for (Contact contact : candidates) {
+            // Not stored before the batch, so a rejection means an earlier batch entry took the name
+            if (myContacts.add(ContactKeys.nameKey(contact.getName()), contact)) {
+                added.add(contact);
+            }
+        }
+        int skippedDuplicates = candidates.size() - added.size();
+        modificationCount += added.size();
+
+        for (ContactIndex index : secondaryIndexes) {
+            for (Contact contact : added) {
+                index.add(contact);
+            }
+        }
+        if (metrics != null) {
+            metrics.recordAdds(added.size(), skippedExisting + skippedDuplicates);
+        }
+        return new BulkAddResult(added, skippedExisting, skippedDuplicates);
     }
 
     /**
@@ -149,13 +489,45 @@ public class MobilePhone {
      */
     public void clearAllContacts() {
         myContacts.clear();
+        modificationCount++;
+        for (ContactIndex index : secondaryIndexes) {
+            index.clear();
+        }
     }
 
     /**
      * Checks if contact exists by name
      */
     public boolean contactExists(String contactName) {
-        return findContact(contactName) >= 0;
+        return findContact(contactName) != null;
+    }
+
+    /**
+     * Outcome of bulkAddContacts: every input contact is counted exactly once,
+     * as added, as already in the phonebook, or as a repeat of an earlier batch entry
+     */
+    public static class BulkAddResult {
+        private final List<Contact> addedContacts;
+        private final int skippedExisting;
+        private final int skippedDuplicates;
+
+        BulkAddResult(List<Contact> addedContacts, int skippedExisting, int skippedDuplicates) {
+            this.addedContacts = Collections.unmodifiableList(addedContacts);
+            this.skippedExisting = skippedExisting;
+            this.skippedDuplicates = skippedDuplicates;
+        }
+
+        public int getAddedCount() { return addedContacts.size(); }
+        public List<Contact> getAddedContacts() { return addedContacts; }
+        public int getSkippedExisting() { return skippedExisting; }
+        public int getSkippedDuplicates() { return skippedDuplicates; }
+        public int getTotalCount() { return addedContacts.size() + skippedExisting + skippedDuplicates; }
+
+        @Override
+        public String toString() {
+            return getAddedCount() + " added, " + skippedExisting + " already present, "
+                    + skippedDuplicates + " duplicated in batch";
+        }
     }
 
     @Override
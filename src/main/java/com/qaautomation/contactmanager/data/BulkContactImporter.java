@@ -0,0 +1,280 @@
+package com.qaautomation.contactmanager.data;
+
+import com.qaautomation.contactmanager.Contact;
+import com.qaautomation.contactmanager.MobilePhone;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk import of many Excel workbooks, parsing every sheet of every file in parallel
+ * on a bounded thread pool. Results are merged into the phone in a fixed order
+ * (file order, then sheet order, then row order), so when the same name appears
+ * more than once the first occurrence always wins, regardless of thread timing.
+ */
+public class BulkContactImporter {
+
+    private final int parallelism;
+
+    public BulkContactImporter() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public BulkContactImporter(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Imports all sheets of all files into the phone and reports per-sheet statistics
+     */
+    public ImportReport importContacts(List<String> filePaths, MobilePhone phone) {
+        long startTime = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "contact-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<Future<StreamingExcelReader.Workbook>> openings = new ArrayList<>();
+        try {
+            // Phase 1: open every file once, loading its sheet list and shared strings table
+            for (String filePath : filePaths) {
+                openings.add(executor.submit(() -> StreamingExcelReader.Workbook.open(filePath)));
+            }
+
+            // Phase 2: parse every sheet independently, sharing its workbook with the other sheets
+            List<SheetResult> results = new ArrayList<>();
+            List<Future<List<Contact>>> parsedSheets = new ArrayList<>();
+            for (int f = 0; f < filePaths.size(); f++) {
+                String filePath = filePaths.get(f);
+                OpenWorkbook workbook;
+                try {
+                    workbook = new OpenWorkbook(openings.get(f).get());
+                } catch (ExecutionException e) {
+                    results.add(SheetResult.failed(filePath, null, e.getCause()));
+                    parsedSheets.add(null);
+                    continue;
+                }
+                List<String> sheetNames = workbook.workbook.getSheetNames();
+                for (int s = 0; s < sheetNames.size(); s++) {
+                    SheetResult result = new SheetResult(filePath, sheetNames.get(s));
+                    results.add(result);
+                    workbook.retain();
+                    parsedSheets.add(executor.submit(parseSheet(workbook, s, result)));
+                }
+                workbook.release();
+            }
+
+            // Phase 3: merge sequentially in file/sheet/row order
+            for (int i = 0; i < results.size(); i++) {
+                SheetResult result = results.get(i);
+                Future<List<Contact>> parsed = parsedSheets.get(i);
+                if (parsed == null) {
+                    continue;
+                }
+                try {
+                    MobilePhone.BulkAddResult merged = phone.bulkAddContacts(parsed.get());
+                    result.added = merged.getAddedCount();
+                    result.duplicates = merged.getSkippedExisting() + merged.getSkippedDuplicates();
+                } catch (ExecutionException e) {
+                    result.error = e.getCause().getMessage();
+                }
+            }
+
+            return new ImportReport(results, (System.nanoTime() - startTime) / 1_000_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Contact import interrupted", e);
+        } finally {
+            executor.shutdownNow();
+            // A parse task may ignore the interrupt; nothing may be closed while it still reads
+            awaitTermination(executor);
+            // Normally closed by their last sheet already (close is idempotent); this covers failures,
+            // interrupts and files opened in phase 1 that phase 2 never reached
+            for (Future<StreamingExcelReader.Workbook> opening : openings) {
+                if (opening.isDone() && !opening.isCancelled()) {
+                    try {
+                        opening.get().close();
+                    } catch (ExecutionException | InterruptedException e) {
+                        // Never opened, nothing to close; done futures do not block
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits for every task to finish, keeping the caller's interrupt status for afterwards
+     */
+    private static void awaitTermination(ExecutorService executor) {
+        boolean interrupted = Thread.interrupted();
+        while (true) {
+            try {
+                if (executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Callable<List<Contact>> parseSheet(OpenWorkbook workbook, int sheetIndex, SheetResult result) {
+        return () -> {
+            long sheetStart = System.nanoTime();
+            List<Contact> contacts = new ArrayList<>();
+            try {
+                result.rows = workbook.workbook.readContacts(sheetIndex, contacts::add);
+            } finally {
+                result.parseMillis = (System.nanoTime() - sheetStart) / 1_000_000;
+                workbook.release();
+            }
+            return contacts;
+        };
+    }
+
+    /**
+     * A workbook shared by its sheet tasks and closed as soon as the last of them is done,
+     * so only the workbooks still being parsed keep their shared strings in memory
+     */
+    private static final class OpenWorkbook {
+        private final StreamingExcelReader.Workbook workbook;
+        // One reference held by the submitting loop, plus one per sheet task
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        private OpenWorkbook(StreamingExcelReader.Workbook workbook) {
+            this.workbook = workbook;
+        }
+
+        private void retain() {
+            references.incrementAndGet();
+        }
+
+        private void release() {
+            if (references.decrementAndGet() == 0) {
+                workbook.close();
+            }
+        }
+    }
+
+    /**
+     * Outcome of importing a single sheet (or a whole file that could not be opened)
+     */
+    public static class SheetResult {
+        private final String filePath;
+        private final String sheetName;
+        private int rows;
+        private long parseMillis;
+        private int added;
+        private int duplicates;
+        private String error;
+
+        SheetResult(String filePath, String sheetName) {
+            this.filePath = filePath;
+            this.sheetName = sheetName;
+        }
+
+        static SheetResult failed(String filePath, String sheetName, Throwable cause) {
+            SheetResult result = new SheetResult(filePath, sheetName);
+            result.error = cause instanceof IOException ? cause.getMessage() : String.valueOf(cause);
+            return result;
+        }
+
+        public String getFilePath() { return filePath; }
+        public String getSheetName() { return sheetName; }
+        public int getRows() { return rows; }
+        public long getParseMillis() { return parseMillis; }
+        public int getAdded() { return added; }
+        public int getDuplicates() { return duplicates; }
+        public String getError() { return error; }
+        public boolean isSuccessful() { return error == null; }
+
+        @Override
+        public String toString() {
+            return filePath + (sheetName != null ? " [" + sheetName + "]" : "") + ": "
+                    + (error != null ? "FAILED - " + error
+                    : rows + " rows, " + added + " added, " + duplicates + " duplicates, " + parseMillis + " ms");
+        }
+    }
+
+    /**
+     * Per-sheet and per-file statistics of a bulk import
+     */
+    public static class ImportReport {
+        private final List<SheetResult> sheetResults;
+        private final long totalMillis;
+
+        ImportReport(List<SheetResult> sheetResults, long totalMillis) {
+            this.sheetResults = Collections.unmodifiableList(sheetResults);
+            this.totalMillis = totalMillis;
+        }
+
+        public List<SheetResult> getSheetResults() { return sheetResults; }
+        public long getTotalMillis() { return totalMillis; }
+
+        public int getTotalRows() {
+            return sheetResults.stream().mapToInt(SheetResult::getRows).sum();
+        }
+
+        public int getTotalAdded() {
+            return sheetResults.stream().mapToInt(SheetResult::getAdded).sum();
+        }
+
+        public int getTotalDuplicates() {
+            return sheetResults.stream().mapToInt(SheetResult::getDuplicates).sum();
+        }
+
+        /**
+         * Sums rows per file, keeping the input file order
+         */
+        public Map<String, Integer> getRowsPerFile() {
+            Map<String, Integer> rowsPerFile = new LinkedHashMap<>();
+            for (SheetResult result : sheetResults) {
+                rowsPerFile.merge(result.getFilePath(), result.getRows(), Integer::sum);
+            }
+            return rowsPerFile;
+        }
+
+        /**
+         * Sums sheet parse time per file, keeping the input file order
+         */
+        public Map<String, Long> getParseMillisPerFile() {
+            Map<String, Long> millisPerFile = new LinkedHashMap<>();
+            for (SheetResult result : sheetResults) {
+                millisPerFile.merge(result.getFilePath(), result.getParseMillis(), Long::sum);
+            }
+            return millisPerFile;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder report = new StringBuilder();
+            report.append("=== BULK IMPORT REPORT ===\n");
+            for (SheetResult result : sheetResults) {
+                report.append(result).append("\n");
+            }
+            report.append("Total: ").append(getTotalRows()).append(" rows, ")
+                    .append(getTotalAdded()).append(" added, ")
+                    .append(getTotalDuplicates()).append(" duplicates in ")
+                    .append(totalMillis).append(" ms");
+            return report.toString();
+        }
+    }
+}
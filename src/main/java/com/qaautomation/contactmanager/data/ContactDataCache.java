@@ -0,0 +1,81 @@
+package com.qaautomation.contactmanager.data;
+
+import com.qaautomation.contactmanager.Contact;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared cache of contacts parsed from Excel files.
+ * Entries are keyed by absolute file path and revalidated against the file's
+ * last-modified time and size on every access, so a changed file is re-parsed
+ * while repeated reads of an unchanged file cost one stat call.
+ * Parses that yield no contacts (including files that fail to parse) are not cached.
+ */
+public class ContactDataCache {
+
+    private static final ConcurrentHashMap<Path, Entry> CACHE = new ConcurrentHashMap<>();
+
+    private ContactDataCache() {
+    }
+
+    /**
+     * Returns the contacts of the file as an unmodifiable list,
+     * parsing it only when it is not cached or has changed on disk.
+     * Returns an empty list if the file cannot be read; the next call tries again.
+     */
+    public static List<Contact> getContacts(String filePath) {
+        Path path = Paths.get(filePath).toAbsolutePath().normalize();
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            CACHE.remove(path);
+            return ExcelDataReader.tryReadContactsFromExcel(filePath);
+        }
+
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        long size = attributes.size();
+        Entry entry = CACHE.compute(path, (key, cached) -> {
+            if (cached != null && cached.lastModified == lastModified && cached.size == size) {
+                return cached;
+            }
+            List<Contact> contacts = ExcelDataReader.tryReadContactsFromExcel(filePath);
+            // An empty result usually means the parse failed; returning null drops the entry
+            return contacts.isEmpty() ? null : new Entry(lastModified, size, Collections.unmodifiableList(contacts));
+        });
+        return entry == null ? Collections.emptyList() : entry.contacts;
+    }
+
+    /**
+     * Drops the cached contacts of a single file
+     */
+    public static void invalidate(String filePath) {
+        CACHE.remove(Paths.get(filePath).toAbsolutePath().normalize());
+    }
+
+    /**
+     * Drops all cached contacts
+     */
+    public static void clear() {
+        CACHE.clear();
+    }
+
+    private static final class Entry {
+        private final long lastModified;
+        private final long size;
+        private final List<Contact> contacts;
+
+        private Entry(long lastModified, long size, List<Contact> contacts) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.contacts = contacts;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.qaautomation.contactmanager.data;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.csv.CsvFactory;
+import com.fasterxml.jackson.dataformat.csv.CsvGenerator;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.qaautomation.contactmanager.Contact;
+import com.qaautomation.contactmanager.MobilePhone;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.function.Consumer;
+
+/**
+ * Streaming CSV contact reader and writer built on Jackson's CsvParser/CsvGenerator.
+ * Rows are read as positional arrays and handed over one at a time, and contacts are
+ * written as they are produced, so neither direction keeps the file in memory.
+ * Uses the same layout as ExcelDataReader: header in the first row, name in column 0,
+ * phone number in column 1; rows with an empty name or phone number are skipped.
+ */
+public class CsvContactFormat {
+
+    public static final String NAME_HEADER = "Name";
+    public static final String PHONE_HEADER = "Phone Number";
+
+    private static final CsvFactory FACTORY = new CsvFactory();
+    private static final CsvSchema ROW_SCHEMA = CsvSchema.emptySchema();
+
+    /**
+     * Streams the contacts of the file to the consumer.
+     * Returns the number of contacts passed to the consumer.
+     */
+    public static int readContacts(String filePath, Consumer<Contact> consumer) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(filePath), StandardCharsets.UTF_8);
+             CsvParser parser = FACTORY.createParser(reader)) {
+            parser.setSchema(ROW_SCHEMA);
+            parser.enable(CsvParser.Feature.TRIM_SPACES);
+            parser.enable(CsvParser.Feature.SKIP_EMPTY_LINES);
+
+            int contactCount = 0;
+            boolean headerSkipped = false;
+            while (parser.nextToken() == JsonToken.START_ARRAY) {
+                String name = null;
+                String phoneNumber = null;
+                int column = 0;
+                JsonToken token;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                    if (column == 0) {
+                        name = parser.getText();
+                    } else if (column == 1) {
+                        phoneNumber = parser.getText();
+                    }
+                    column++;
+                }
+
+                // Skip the header row (assumed to be the first row)
+                if (!headerSkipped) {
+                    headerSkipped = true;
+                    continue;
+                }
+                if (name == null || name.trim().isEmpty()
+                        || phoneNumber == null || phoneNumber.trim().isEmpty()) {
+                    continue;
+                }
+                consumer.accept(Contact.createContact(name, phoneNumber));
+                contactCount++;
+            }
+            return contactCount;
+        }
+    }
+
+    /**
+     * Adds every contact of the file to the phone.
+     * Returns the number of contacts added (duplicates are not counted).
+     */
+    public static int importContacts(String filePath, MobilePhone phone) throws IOException {
+        int[] added = new int[1];
+        readContacts(filePath, contact -> {
+            if (phone.addNewContact(contact)) {
+                added[0]++;
+            }
+        });
+        return added[0];
+    }
+
+    /**
+     * Writes the phone's contacts, in insertion order, with a header row.
+     * Returns the number of contacts written.
+     */
+    public static int exportContacts(MobilePhone phone, String filePath) throws IOException {
+        return writeContacts(filePath, phone::forEachContact);
+    }
+
+    /**
+     * Writes the contacts the source emits, with a header row.
+     * Returns the number of contacts written.
+     */
+    public static int writeContacts(String filePath, Consumer<Consumer<Contact>> source) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(filePath), StandardCharsets.UTF_8);
+             CsvGenerator generator = FACTORY.createGenerator(writer)) {
+            generator.setSchema(ROW_SCHEMA);
+            writeRow(generator, NAME_HEADER, PHONE_HEADER);
+
+            int[] written = new int[1];
+            try {
+                source.accept(contact -> {
+                    try {
+                        writeRow(generator, contact.getName(), contact.getPhoneNumber());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    written[0]++;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return written[0];
+        }
+    }
+
+    private static void writeRow(CsvGenerator generator, String name, String phoneNumber) throws IOException {
+        generator.writeStartArray();
+        generator.writeString(name);
+        generator.writeString(phoneNumber);
+        generator.writeEndArray();
+    }
+}
@@ -2,39 +2,142 @@ package com.qaautomation.contactmanager.data;
 
 import com.qaautomation.contactmanager.Contact;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
 public class DataValidator {
 
+    private static final int MAX_NAME_LENGTH = 100;
+    private static final int MAX_PHONE_LENGTH = 20;
+
+    // Shared result for every valid contact, so the success path allocates nothing
+    private static final ValidationResult VALID = new ValidationResult(true, "Contact is valid");
+
+    /**
+     * Validation rules, in the order they are checked
+     */
+    public enum Rule {
+        NULL_CONTACT,
+        NAME_EMPTY,
+        NAME_LENGTH,
+        PHONE_EMPTY,
+        PHONE_LENGTH
+    }
+
     /**
      * Validates a single contact
      */
     public static ValidationResult validateContact(Contact contact) {
+        Rule violation = checkContact(contact);
+        if (violation == null) {
+            return VALID;
+        }
+
+        switch (violation) {
+            case NULL_CONTACT:
+                return new ValidationResult(false, "Contact cannot be null");
+            case NAME_EMPTY:
+                return new ValidationResult(false, "Contact name cannot be null or empty");
+            case NAME_LENGTH:
+                return new ValidationResult(false,
+                        "Contact name must be between 1 and 100 characters: " + contact.getName());
+            case PHONE_EMPTY:
+                return new ValidationResult(false, "Phone number cannot be null or empty");
+            default:
+                return new ValidationResult(false,
+                        "Phone number must be between 1 and 20 characters: " + contact.getPhoneNumber());
+        }
+    }
+
+    /**
+     * Returns the first rule the contact violates, or null if it is valid.
+     * Does not allocate: lengths are measured without creating trimmed copies.
+     */
+    public static Rule checkContact(Contact contact) {
         if (contact == null) {
-            return new ValidationResult(false, "Contact cannot be null");
+            return Rule.NULL_CONTACT;
         }
 
         // Validate name
-        String name = contact.getName();
-        if (name == null || name.trim().isEmpty()) {
-            return new ValidationResult(false, "Contact name cannot be null or empty");
+        int nameLength = trimmedLength(contact.getName());
+        if (nameLength <= 0) {
+            return Rule.NAME_EMPTY;
         }
-
-        if (name.trim().length() < 1 || name.trim().length() > 100) {
-            return new ValidationResult(false,
-                    "Contact name must be between 1 and 100 characters: " + name);
+        if (nameLength > MAX_NAME_LENGTH) {
+            return Rule.NAME_LENGTH;
         }
 
         // Validate phone number
-        String phone = contact.getPhoneNumber();
-        if (phone == null || phone.trim().isEmpty()) {
-            return new ValidationResult(false, "Phone number cannot be null or empty");
+        int phoneLength = trimmedLength(contact.getPhoneNumber());
+        if (phoneLength <= 0) {
+            return Rule.PHONE_EMPTY;
         }
+        if (phoneLength > MAX_PHONE_LENGTH) {
+            return Rule.PHONE_LENGTH;
+        }
+        return null;
+    }
 
-        if (phone.trim().length() < 1 || phone.trim().length() > 20) {
-            return new ValidationResult(false,
-                    "Phone number must be between 1 and 20 characters: " + phone);
+    /**
+     * Length the value would have after trim(), or -1 for null
+     */
+    private static int trimmedLength(String value) {
+        if (value == null) {
+            return -1;
         }
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end - start;
+    }
 
-        return new ValidationResult(true, "Contact is valid");
+    /**
+     * Validates a whole batch in parallel.
+     * Returns compact per-row rule codes for the invalid rows plus a per-rule summary.
+     */
+    public static BatchValidationResult validateAll(List<Contact> contacts) {
+        List<Contact> rows = contacts instanceof RandomAccess ? contacts : new ArrayList<>(contacts);
+        int size = rows.size();
+
+        // 0 means valid, otherwise rule ordinal + 1
+        byte[] codes = new byte[size];
+        IntStream.range(0, size).parallel().forEach(i -> {
+            Rule violation = checkContact(rows.get(i));
+            if (violation != null) {
+                codes[i] = (byte) (violation.ordinal() + 1);
+            }
+        });
+
+        BatchValidationResult.Builder builder = new BatchValidationResult.Builder();
+        for (int i = 0; i < size; i++) {
+            builder.record(codes[i]);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Validates a stream of contacts; rules are checked in parallel if the stream is parallel,
+     * row indexes follow the stream's encounter order
+     */
+    public static BatchValidationResult validateAll(Stream<Contact> contacts) {
+        BatchValidationResult.Builder builder = new BatchValidationResult.Builder();
+        contacts.map(contact -> {
+            Rule violation = checkContact(contact);
+            return violation == null ? 0 : violation.ordinal() + 1;
+        }).forEachOrdered(code -> builder.record(code.byteValue()));
+        return builder.build();
     }
 
     // Simple validation result class
@@ -51,4 +154,101 @@ public class DataValidator {
         public String getMessage() { return message; }
     }
 
+    /**
+     * Outcome of a batch validation: invalid row indexes with their rule codes,
+     * and valid/invalid counts by rule
+     */
+    public static class BatchValidationResult {
+        private static final Rule[] RULES = Rule.values();
+
+        private final int totalCount;
+        private final int[] invalidIndexes;
+        private final byte[] invalidCodes;
+        private final int[] countsByRule;
+
+        private BatchValidationResult(int totalCount, int[] invalidIndexes, byte[] invalidCodes, int[] countsByRule) {
+            this.totalCount = totalCount;
+            this.invalidIndexes = invalidIndexes;
+            this.invalidCodes = invalidCodes;
+            this.countsByRule = countsByRule;
+        }
+
+        public int getTotalCount() { return totalCount; }
+        public int getValidCount() { return totalCount - invalidIndexes.length; }
+        public int getInvalidCount() { return invalidIndexes.length; }
+
+        /**
+         * Row index of the n-th invalid contact
+         */
+        public int getInvalidIndex(int n) {
+            return invalidIndexes[n];
+        }
+
+        /**
+         * Rule violated by the n-th invalid contact
+         */
+        public Rule getInvalidRule(int n) {
+            return RULES[invalidCodes[n] - 1];
+        }
+
+        public int[] getInvalidIndexes() {
+            return invalidIndexes.clone();
+        }
+
+        public int getCount(Rule rule) {
+            return countsByRule[rule.ordinal()];
+        }
+
+        public Map<Rule, Integer> getCountsByRule() {
+            Map<Rule, Integer> counts = new EnumMap<>(Rule.class);
+            for (Rule rule : RULES) {
+                if (countsByRule[rule.ordinal()] > 0) {
+                    counts.put(rule, countsByRule[rule.ordinal()]);
+                }
+            }
+            return Collections.unmodifiableMap(counts);
+        }
+
+        public boolean isAllValid() {
+            return invalidIndexes.length == 0;
+        }
+
+        @Override
+        public String toString() {
+            return "BatchValidationResult{total=" + totalCount + ", valid=" + getValidCount()
+                    + ", invalid=" + getInvalidCount() + ", byRule=" + getCountsByRule() + "}";
+        }
+
+        private static final class Builder {
+            private int total;
+            private int invalid;
+            private int[] indexes = new int[16];
+            private byte[] codes = new byte[16];
+            private final int[] countsByRule = new int[RULES.length];
+
+            /**
+             * Records the code of the next row; rows are numbered in call order
+             */
+            void record(byte code) {
+                int index = total++;
+                if (code == 0) {
+                    return;
+                }
+                if (invalid == indexes.length) {
+                    indexes = Arrays.copyOf(indexes, invalid * 2);
+                    codes = Arrays.copyOf(codes, invalid * 2);
+                }
+                indexes[invalid] = index;
+                codes[invalid] = code;
+                invalid++;
+                countsByRule[code - 1]++;
+            }
+
+            BatchValidationResult build() {
+                return new BatchValidationResult(total, Arrays.copyOf(indexes, invalid),
+                        Arrays.copyOf(codes, invalid), countsByRule.clone());
+            }
+        }
+    }
+
 }
@@ -1,6 +1,8 @@
 package com.qaautomation.contactmanager.data;
 
 import com.qaautomation.contactmanager.Contact;
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.ooxml.POIXMLException;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
@@ -31,19 +33,28 @@ public class ExcelDataReader {
         return readContactsFromExcel(DEFAULT_EXCEL_PATH, BACKUP_EXCEL_PATH);
     }
 
+    /**
+     * Returns the cached contacts of the default Excel file (see ContactDataCache).
+     * The returned list is unmodifiable.
+     */
+    public static List<Contact> getCachedContacts() {
+        return ContactDataCache.getContacts(DEFAULT_EXCEL_PATH);
+    }
+
     /**
      * Reads contacts from the Excel file at the specified file path.
+     * Parsed files are cached until they change on disk; each call returns its own mutable copy.
      */
     public static List<Contact> readContactsFromExcel (String primaryPath, String fallbackPath){
-        List<Contact> contacts = tryReadContactsFromExcel(primaryPath);
+        List<Contact> contacts = ContactDataCache.getContacts(primaryPath);
         if(contacts.isEmpty() && fallbackPath != null){
             System.out.println("Primary Excel file is not available, trying fallback...");
-            contacts = tryReadContactsFromExcel(fallbackPath);
+            contacts = ContactDataCache.getContacts(fallbackPath);
         }
         if(contacts.isEmpty()){
             System.out.println("No Excel data is available, will use default test data");
         }
-        return  contacts;
+        return new ArrayList<>(contacts);
     }
 
     public static List<Contact> tryReadContactsFromExcel(String filePath) {
@@ -71,7 +82,8 @@ public class ExcelDataReader {
 
             System.out.println("Successfully loaded " + contacts.size() + " contacts from: " + filePath);
 
-        } catch (IOException e) {
+        } catch (IOException | UnsupportedFileFormatException | POIXMLException e) {
+            // Missing, unreadable or not a workbook at all: report it and return no contacts
             System.err.println("Error reading Excel file '" + filePath + "': " + e.getMessage());
         }
 
@@ -0,0 +1,125 @@
+package com.qaautomation.contactmanager.data;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.qaautomation.contactmanager.Contact;
+import com.qaautomation.contactmanager.MobilePhone;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.function.Consumer;
+
+/**
+ * Streaming JSON-lines contact reader and writer built on Jackson's JsonParser/JsonGenerator.
+ * Each line holds one object: {"name":"...","phoneNumber":"..."}. Objects are parsed token
+ * by token and handed over one at a time, so files larger than the heap can be processed.
+ * Unknown fields are ignored; objects with an empty name or phone number are skipped.
+ */
+public class JsonLinesContactFormat {
+
+    public static final String NAME_FIELD = "name";
+    public static final String PHONE_FIELD = "phoneNumber";
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    /**
+     * Streams the contacts of the file to the consumer.
+     * Returns the number of contacts passed to the consumer.
+     */
+    public static int readContacts(String filePath, Consumer<Contact> consumer) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(filePath), StandardCharsets.UTF_8);
+             JsonParser parser = FACTORY.createParser(reader)) {
+            int contactCount = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new JsonParseException(parser, "Expected a contact object but found " + token);
+                }
+                String name = null;
+                String phoneNumber = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    JsonToken value = parser.nextToken();
+                    if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                        parser.skipChildren();
+                    } else if (value != JsonToken.VALUE_NULL) {
+                        if (NAME_FIELD.equals(field)) {
+                            name = parser.getText();
+                        } else if (PHONE_FIELD.equals(field)) {
+                            phoneNumber = parser.getText();
+                        }
+                    }
+                }
+
+                if (name == null || name.trim().isEmpty()
+                        || phoneNumber == null || phoneNumber.trim().isEmpty()) {
+                    continue;
+                }
+                consumer.accept(Contact.createContact(name, phoneNumber));
+                contactCount++;
+            }
+            return contactCount;
+        }
+    }
+
+    /**
+     * Adds every contact of the file to the phone.
+     * Returns the number of contacts added (duplicates are not counted).
+     */
+    public static int importContacts(String filePath, MobilePhone phone) throws IOException {
+        int[] added = new int[1];
+        readContacts(filePath, contact -> {
+            if (phone.addNewContact(contact)) {
+                added[0]++;
+            }
+        });
+        return added[0];
+    }
+
+    /**
+     * Writes the phone's contacts, in insertion order, one object per line.
+     * Returns the number of contacts written.
+     */
+    public static int exportContacts(MobilePhone phone, String filePath) throws IOException {
+        return writeContacts(filePath, phone::forEachContact);
+    }
+
+    /**
+     * Writes the contacts the source emits, one object per line.
+     * Returns the number of contacts written.
+     */
+    public static int writeContacts(String filePath, Consumer<Consumer<Contact>> source) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(filePath), StandardCharsets.UTF_8);
+             JsonGenerator generator = FACTORY.createGenerator(writer)) {
+            generator.setRootValueSeparator(new SerializedString("\n"));
+
+            int[] written = new int[1];
+            try {
+                source.accept(contact -> {
+                    try {
+                        generator.writeStartObject();
+                        generator.writeStringField(NAME_FIELD, contact.getName());
+                        generator.writeStringField(PHONE_FIELD, contact.getPhoneNumber());
+                        generator.writeEndObject();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    written[0]++;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            generator.writeRaw('\n');
+            return written[0];
+        }
+    }
+}
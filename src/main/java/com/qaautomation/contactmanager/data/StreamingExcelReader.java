@@ -0,0 +1,239 @@
+package com.qaautomation.contactmanager.data;
+
+import com.qaautomation.contactmanager.Contact;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Streaming XLSX contact reader built on POI's event API (XSSFReader + SAX).
+ * Rows are parsed and handed to the consumer one at a time, so heap use does not grow
+ * with the number of rows; only the workbook's shared strings table is kept in memory.
+ * Uses the same layout as ExcelDataReader: header in the first row, name in column 0,
+ * phone number in column 1.
+ */
+public class StreamingExcelReader {
+
+    /**
+     * Streams the contacts of the first sheet.
+     * Returns the number of contacts passed to the consumer.
+     */
+    public static int readContacts(String filePath, Consumer<Contact> consumer) throws IOException {
+        return readContacts(filePath, 0, consumer);
+    }
+
+    /**
+     * Streams the contacts of the sheet at the given index.
+     * Returns the number of contacts passed to the consumer.
+     */
+    public static int readContacts(String filePath, int sheetIndex, Consumer<Contact> consumer) throws IOException {
+        try (Workbook workbook = Workbook.open(filePath)) {
+            return workbook.readContacts(sheetIndex, consumer);
+        }
+    }
+
+    /**
+     * Returns the names of all sheets in workbook order without parsing any rows
+     */
+    public static List<String> getSheetNames(String filePath) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(filePath, PackageAccess.READ)) {
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) new XSSFReader(pkg).getSheetsData();
+            List<String> names = new ArrayList<>();
+            while (sheets.hasNext()) {
+                try (InputStream ignored = sheets.next()) {
+                    names.add(sheets.getSheetName());
+                }
+            }
+            return names;
+        } catch (OpenXML4JException e) {
+            throw new IOException("Cannot open Excel file '" + filePath + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * A workbook opened once to read several of its sheets. The package, shared strings table
+     * and styles are loaded by open() and only read afterwards, so readContacts may be called
+     * from several threads at once, each parsing a different sheet.
+     */
+    public static final class Workbook implements Closeable {
+        private final String filePath;
+        private final OPCPackage pkg;
+        private final ReadOnlySharedStringsTable strings;
+        private final StylesTable styles;
+        private final List<String> sheetNames = new ArrayList<>();
+        private final List<PackagePart> sheetParts = new ArrayList<>();
+        private boolean closed;
+
+        private Workbook(String filePath, OPCPackage pkg) throws IOException, OpenXML4JException, SAXException {
+            this.filePath = filePath;
+            this.pkg = pkg;
+            XSSFReader reader = new XSSFReader(pkg);
+            this.strings = new ReadOnlySharedStringsTable(pkg);
+            this.styles = reader.getStylesTable();
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                try (InputStream ignored = sheets.next()) {
+                    sheetNames.add(sheets.getSheetName());
+                    sheetParts.add(sheets.getSheetPart());
+                }
+            }
+        }
+
+        public static Workbook open(String filePath) throws IOException {
+            OPCPackage pkg;
+            try {
+                pkg = OPCPackage.open(filePath, PackageAccess.READ);
+            } catch (OpenXML4JException e) {
+                throw new IOException("Cannot open Excel file '" + filePath + "': " + e.getMessage(), e);
+            }
+            try {
+                return new Workbook(filePath, pkg);
+            } catch (OpenXML4JException | SAXException | IOException | RuntimeException e) {
+                pkg.revert();
+                if (e instanceof IOException) {
+                    throw (IOException) e;
+                }
+                throw new IOException("Cannot parse Excel file '" + filePath + "': " + e.getMessage(), e);
+            }
+        }
+
+        public List<String> getSheetNames() {
+            return Collections.unmodifiableList(sheetNames);
+        }
+
+        /**
+         * Streams the contacts of the sheet at the given index.
+         * Returns the number of contacts passed to the consumer.
+         */
+        public int readContacts(int sheetIndex, Consumer<Contact> consumer) throws IOException {
+            if (sheetIndex < 0 || sheetIndex >= sheetParts.size()) {
+                throw new IOException("Sheet index " + sheetIndex + " not found in '" + filePath + "'");
+            }
+            try (InputStream sheet = sheetParts.get(sheetIndex).getInputStream()) {
+                return parseSheet(sheet, strings, styles, consumer);
+            } catch (SAXException | ParserConfigurationException e) {
+                throw new IOException("Cannot parse Excel file '" + filePath + "': " + e.getMessage(), e);
+            }
+        }
+
+        /**
+         * Releases the package; calling close again does nothing
+         */
+        @Override
+        public synchronized void close() {
+            if (!closed) {
+                closed = true;
+                // Opened read-only: revert releases the file without trying to save it
+                pkg.revert();
+            }
+        }
+    }
+
+    private static int parseSheet(InputStream sheet, ReadOnlySharedStringsTable strings, StylesTable styles,
+                                  Consumer<Contact> consumer)
+            throws IOException, SAXException, ParserConfigurationException {
+        ContactRowHandler rowHandler = new ContactRowHandler(consumer);
+        XMLReader parser = XMLHelper.newXMLReader();
+        parser.setContentHandler(new XSSFSheetXMLHandler(styles, strings, rowHandler, new CellValueFormatter(), false));
+        parser.parse(new InputSource(sheet));
+        return rowHandler.contactCount;
+    }
+
+    /**
+     * Collects column 0 and 1 of each row and emits a contact when the row ends
+     */
+    private static class ContactRowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final Consumer<Contact> consumer;
+        private boolean headerSkipped;
+        private int currentColumn;
+        private String name;
+        private String phoneNumber;
+        private int contactCount;
+
+        ContactRowHandler(Consumer<Contact> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            currentColumn = -1;
+            name = null;
+            phoneNumber = null;
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            currentColumn = cellReference == null ? currentColumn + 1 : columnIndex(cellReference);
+            if (currentColumn == 0) {
+                name = formattedValue;
+            } else if (currentColumn == 1) {
+                phoneNumber = formattedValue;
+            }
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            // Skip the header row (assumed to be the first row)
+            if (!headerSkipped) {
+                headerSkipped = true;
+                return;
+            }
+            if (name == null || name.trim().isEmpty()
+                    || phoneNumber == null || phoneNumber.trim().isEmpty()) {
+                return;
+            }
+            consumer.accept(Contact.createContact(name.trim(), phoneNumber.trim()));
+            contactCount++;
+        }
+
+        private static int columnIndex(String cellReference) {
+            int column = 0;
+            for (int i = 0; i < cellReference.length(); i++) {
+                char c = cellReference.charAt(i);
+                if (c < 'A' || c > 'Z') {
+                    break;
+                }
+                column = column * 26 + (c - 'A' + 1);
+            }
+            return column - 1;
+        }
+    }
+
+    /**
+     * Renders numeric cells the way ExcelDataReader.getCellValueAsString does,
+     * so phone numbers stored as numbers are not shown in scientific notation
+     */
+    private static class CellValueFormatter extends DataFormatter {
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getJavaDate(value).toString();
+            }
+            if (value == Math.floor(value)) {
+                return String.valueOf((long) value);
+            }
+            return String.valueOf(value);
+        }
+    }
+}
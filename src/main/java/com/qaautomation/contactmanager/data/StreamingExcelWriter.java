@@ -0,0 +1,119 @@
+package com.qaautomation.contactmanager.data;
+
+import com.qaautomation.contactmanager.Contact;
+import com.qaautomation.contactmanager.MobilePhone;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.function.Consumer;
+
+/**
+ * Streaming XLSX contact writer built on POI's SXSSFWorkbook.
+ * Only a small window of rows is kept in memory; older rows are flushed to a gzip-compressed
+ * temp file, so heap use stays flat regardless of the number of contacts. The temp files are
+ * deleted once the workbook is written.
+ * Writes the layout ExcelDataReader and StreamingExcelReader expect: header in the first row,
+ * name in column 0, phone number in column 1. Contacts that do not fit on one sheet continue
+ * on further sheets with the same header.
+ */
+public class StreamingExcelWriter {
+
+    public static final String SHEET_NAME = "Contacts";
+    public static final String NAME_HEADER = "Name";
+    public static final String PHONE_HEADER = "Phone Number";
+
+    /**
+     * Rows kept in memory before they are flushed to the temp file
+     */
+    public static final int ROW_WINDOW = 100;
+
+    /**
+     * Most contacts one sheet can hold: the XLSX row limit minus the header
+     */
+    public static final int MAX_CONTACTS_PER_SHEET = SpreadsheetVersion.EXCEL2007.getMaxRows() - 1;
+
+    /**
+     * Writes the phone's contacts in insertion order.
+     * Returns the number of contacts written.
+     */
+    public static int exportContacts(MobilePhone phone, String filePath) throws IOException {
+        return writeContacts(filePath, phone::forEachContact);
+    }
+
+    /**
+     * Writes the contacts the source emits.
+     * Returns the number of contacts written.
+     */
+    public static int writeContacts(String filePath, Consumer<Consumer<Contact>> source) throws IOException {
+        return writeContacts(filePath, source, MAX_CONTACTS_PER_SHEET);
+    }
+
+    /**
+     * Writes the contacts the source emits, starting a new sheet every contactsPerSheet contacts.
+     * Returns the number of contacts written.
+     */
+    public static int writeContacts(String filePath, Consumer<Consumer<Contact>> source, int contactsPerSheet)
+            throws IOException {
+        if (contactsPerSheet < 1 || contactsPerSheet > MAX_CONTACTS_PER_SHEET) {
+            throw new IllegalArgumentException("Contacts per sheet must be between 1 and "
+                    + MAX_CONTACTS_PER_SHEET + ": " + contactsPerSheet);
+        }
+
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try (OutputStream out = Files.newOutputStream(Paths.get(filePath))) {
+            SheetFiller filler = new SheetFiller(workbook, contactsPerSheet);
+            source.accept(filler);
+            if (filler.sheet == null) {
+                filler.startSheet();
+            }
+            workbook.write(out);
+            return filler.contactCount;
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    /**
+     * Appends contacts as rows, starting a new sheet whenever the current one is full
+     */
+    private static class SheetFiller implements Consumer<Contact> {
+        private final SXSSFWorkbook workbook;
+        private final int contactsPerSheet;
+        private Sheet sheet;
+        private int rowIndex;
+        private int contactCount;
+
+        SheetFiller(SXSSFWorkbook workbook, int contactsPerSheet) {
+            this.workbook = workbook;
+            this.contactsPerSheet = contactsPerSheet;
+        }
+
+        @Override
+        public void accept(Contact contact) {
+            if (sheet == null || rowIndex > contactsPerSheet) {
+                startSheet();
+            }
+            Row row = sheet.createRow(rowIndex++);
+            row.createCell(0).setCellValue(contact.getName());
+            row.createCell(1).setCellValue(contact.getPhoneNumber());
+            contactCount++;
+        }
+
+        void startSheet() {
+            int sheetNumber = workbook.getNumberOfSheets();
+            sheet = workbook.createSheet(sheetNumber == 0 ? SHEET_NAME : SHEET_NAME + " " + (sheetNumber + 1));
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue(NAME_HEADER);
+            header.createCell(1).setCellValue(PHONE_HEADER);
+            rowIndex = 1;
+        }
+    }
+}
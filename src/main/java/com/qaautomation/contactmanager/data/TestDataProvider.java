@@ -2,6 +2,7 @@ package com.qaautomation.contactmanager.data;
 
 import com.qaautomation.contactmanager.Contact;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -29,9 +30,20 @@ public class TestDataProvider {
     /**
      * Provides contacts from Excel file (primary data source)
      * Falls back to default contacts if Excel is not available
+     * The workbook is parsed once and served from ContactDataCache until it changes;
+     * Excel contacts are returned as a mutable copy, as before the cache was added
      */
     public static List<Contact> getContactsFromExcel() {
-        List<Contact> excelContacts = ExcelDataReader.tryReadContactsFromExcel();
+        List<Contact> excelContacts = ExcelDataReader.getCachedContacts();
+        return excelContacts.isEmpty() ? DEFAULT_CONTACTS : new ArrayList<>(excelContacts);
+    }
+
+    /**
+     * Same data as getContactsFromExcel without the copy, for indexed reads;
+     * callers must not modify or hand out the returned list
+     */
+    private static List<Contact> sharedContacts() {
+        List<Contact> excelContacts = ExcelDataReader.getCachedContacts();
         return excelContacts.isEmpty() ? DEFAULT_CONTACTS : excelContacts;
     }
 
@@ -114,7 +126,7 @@ public class TestDataProvider {
      * Performs bounds validation before access.
      */
     public static Contact getContact(int index) {
-        List<Contact> contacts = getContactsFromExcel();
+        List<Contact> contacts = sharedContacts();
 
         if (index < 0) {
             throw new IllegalArgumentException("Contact index cannot be negative: " + index);
@@ -132,10 +144,10 @@ public class TestDataProvider {
 
     /**
      * Returns a sublist of contacts within the specified index range.
-     * Used for batch or partial dataset testing.
+     * Used for batch or partial dataset testing. Only the requested range is copied.
      */
     public static List<Contact> getContactRange(int start, int end) {
-        List<Contact> contacts = getContactsFromExcel();
+        List<Contact> contacts = sharedContacts();
 
         if (start < 0 || end >= contacts.size() || start > end) {
             throw new IllegalArgumentException(
@@ -144,7 +156,7 @@ public class TestDataProvider {
             );
         }
 
-        return contacts.subList(start, end + 1);
+        return new ArrayList<>(contacts.subList(start, end + 1));
     }
 
     /**
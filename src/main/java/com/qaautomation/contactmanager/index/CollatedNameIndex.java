@@ -0,0 +1,118 @@
+package com.qaautomation.contactmanager.index;
+
+import com.qaautomation.contactmanager.Contact;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Contacts in the alphabetical order of one locale ("Äpfel" next to "Apfel" in German
+ * rather than after "Zebra" as in String order).
+ *
+ * Each name's CollationKey is computed once when the contact is added and kept until it is
+ * removed, so listing the contacts in order is a walk over the tree and a range of k names
+ * costs O(log n + k), instead of collating every pair of names on each sort. Case is ignored,
+ * like the phone's name keys; letters and accents are not.
+ */
+public class CollatedNameIndex implements ContactIndex {
+
+    private final Collator collator;
+    // Name key -> its sort key, so removal does not collate the name again
+    private final Map<String, SortKey> sortKeys = new HashMap<>();
+    private final TreeMap<SortKey, Contact> contactsByName = new TreeMap<>();
+
+    public CollatedNameIndex(Locale locale) {
+        collator = Collator.getInstance(locale);
+        collator.setStrength(Collator.SECONDARY);
+    }
+
+    @Override
+    public void add(Contact contact) {
+        String key = ContactKeys.nameKey(contact.getName());
+        SortKey sortKey = new SortKey(collator.getCollationKey(contact.getName()), key);
+        sortKeys.put(key, sortKey);
+        contactsByName.put(sortKey, contact);
+    }
+
+    @Override
+    public void remove(Contact contact) {
+        SortKey sortKey = sortKeys.remove(ContactKeys.nameKey(contact.getName()));
+        if (sortKey != null) {
+            contactsByName.remove(sortKey);
+        }
+    }
+
+    @Override
+    public void clear() {
+        sortKeys.clear();
+        contactsByName.clear();
+    }
+
+    /**
+     * Returns all contacts sorted by name
+     */
+    public List<Contact> sorted() {
+        return new ArrayList<>(contactsByName.values());
+    }
+
+    /**
+     * Returns up to limit contacts, sorted by name, from fromName (inclusive) to toName
+     * (exclusive); a null bound leaves that side open. Names from K to M: range("K", "N", limit).
+     */
+    public List<Contact> range(String fromName, String toName, int limit) {
+        NavigableMap<SortKey, Contact> range = contactsByName;
+        SortKey from = fromName == null ? null : bound(fromName);
+        SortKey to = toName == null ? null : bound(toName);
+        if (from != null && to != null && from.compareTo(to) > 0) {
+            return new ArrayList<>();
+        }
+        if (from != null) {
+            range = range.tailMap(from, true);
+        }
+        if (to != null) {
+            range = range.headMap(to, false);
+        }
+
+        List<Contact> matches = new ArrayList<>(Math.min(limit, 16));
+        for (Contact contact : range.values()) {
+            if (matches.size() >= limit) {
+                break;
+            }
+            matches.add(contact);
+        }
+        return matches;
+    }
+
+    /**
+     * Sorts before every stored name that collates equal to the given one
+     */
+    private SortKey bound(String name) {
+        return new SortKey(collator.getCollationKey(name), "");
+    }
+
+    /**
+     * Collation key first; the name key breaks ties between names the collator considers equal
+     */
+    private static final class SortKey implements Comparable<SortKey> {
+        final CollationKey collationKey;
+        final String nameKey;
+
+        SortKey(CollationKey collationKey, String nameKey) {
+            this.collationKey = collationKey;
+            this.nameKey = nameKey;
+        }
+
+        @Override
+        public int compareTo(SortKey other) {
+            int order = collationKey.compareTo(other.collationKey);
+            return order != 0 ? order : nameKey.compareTo(other.nameKey);
+        }
+    }
+}
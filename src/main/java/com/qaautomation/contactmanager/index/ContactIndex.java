@@ -0,0 +1,17 @@
+package com.qaautomation.contactmanager.index;
+
+import com.qaautomation.contactmanager.Contact;
+
+/**
+ * Secondary index over the contacts of a MobilePhone.
+ * The phone calls these hooks on every mutation so the index never has to rescan the list;
+ * an update is reported as remove of the stored contact followed by add of the new one.
+ */
+public interface ContactIndex {
+
+    void add(Contact contact);
+
+    void remove(Contact contact);
+
+    void clear();
+}
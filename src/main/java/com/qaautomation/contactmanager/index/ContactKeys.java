@@ -0,0 +1,46 @@
+package com.qaautomation.contactmanager.index;
+
+/**
+ * Normalized lookup keys shared by MobilePhone and its indexes
+ */
+public final class ContactKeys {
+
+    private ContactKeys() {
+    }
+
+    /**
+     * Builds the lookup key for a contact name.
+     * Folds every character the same way String.equalsIgnoreCase compares them,
+     * so index hits match a case-insensitive scan exactly.
+     */
+    public static String nameKey(String contactName) {
+        char[] chars = contactName.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Builds the lookup key for a phone number.
+     * Keeps only the digits (and a leading '+'), so "555-0101", "5550101"
+     * and "(555) 0101" share one key. Numbers without any digit fall back to their name key.
+     */
+    public static String phoneKey(String phoneNumber) {
+        String trimmed = phoneNumber.trim();
+        StringBuilder key = new StringBuilder(trimmed.length());
+        if (trimmed.startsWith("+")) {
+            key.append('+');
+        }
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (c >= '0' && c <= '9') {
+                key.append(c);
+            }
+        }
+        if (key.length() == 0 || (key.length() == 1 && key.charAt(0) == '+')) {
+            return nameKey(trimmed);
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,473 @@
+package com.qaautomation.contactmanager.index;
+
+import com.qaautomation.contactmanager.Contact;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Typo-tolerant name index: trigram postings to find candidates, edit distance to rank them.
+ *
+ * Every name key is padded with two sentinels on each side and split into overlapping
+ * trigrams; postings map (trigram, name length) to the ids of the names containing it, so a
+ * query only reads names whose length is within the distance bound. One edit (insert,
+ * delete, substitute, or swap of two neighbours) destroys at most four trigrams, so a name
+ * within distance k of the query shares at least (query trigrams - 4k) of them and, by the
+ * pigeonhole principle, appears in one of the (4k + 1) shortest postings of the query's
+ * trigrams. Only those lists produce candidates; the longer ones are only used to count.
+ *
+ * Candidates pass a character-set check and are then verified with a bounded
+ * optimal-string-alignment distance, bit-parallel for queries of up to 64 characters.
+ * Queries too short for the trigram bound scan all names.
+ */
+public class FuzzyNameIndex implements ContactIndex {
+
+    private static final char PAD = '\0';
+    private static final int EDITS_PER_GRAM_LOSS = 4;
+    // Names up to this length get length-specific postings; longer ones share the last bucket
+    private static final int MAX_INDEXED_LENGTH = 0xFFFF;
+    // Rough cost of one distance verification in posting increments
+    private static final int COUNTS_PER_VERIFICATION = 32;
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Map<String, Integer> idsByKey = new HashMap<>();
+    // Name keys as char arrays, which the distance loop reads faster than Strings
+    private char[][] keys = new char[64][];
+    private Contact[] contacts = new Contact[64];
+    private long[] charMasks = new long[64];
+    private int[] freeIds = new int[16];
+    private int freeCount;
+    private int nextId;
+
+    // Query scratch: trigrams shared with the query per id (zero between queries), and the ids touched
+    private byte[] sharedGrams = new byte[64];
+    private int[] candidates = new int[64];
+    // Distance rows reused across verifications
+    private final int[][] rows = {new int[32], new int[32], new int[32]};
+
+    @Override
+    public void add(Contact contact) {
+        String key = ContactKeys.nameKey(contact.getName());
+        if (idsByKey.containsKey(key)) {
+            return;
+        }
+        int id = allocateId();
+        keys[id] = key.toCharArray();
+        charMasks[id] = charMask(keys[id]);
+        contacts[id] = contact;
+        idsByKey.put(key, id);
+        int length = Math.min(key.length(), MAX_INDEXED_LENGTH);
+        for (long gram : distinctGrams(keys[id])) {
+            postings.computeIfAbsent(postingKey(gram, length), g -> new Postings()).add(id);
+        }
+    }
+
+    @Override
+    public void remove(Contact contact) {
+        Integer id = idsByKey.remove(ContactKeys.nameKey(contact.getName()));
+        if (id == null) {
+            return;
+        }
+        int length = Math.min(keys[id].length, MAX_INDEXED_LENGTH);
+        for (long gram : distinctGrams(keys[id])) {
+            long postingKey = postingKey(gram, length);
+            Postings ids = postings.get(postingKey);
+            if (ids != null && ids.remove(id) && ids.size == 0) {
+                postings.remove(postingKey);
+            }
+        }
+        keys[id] = null;
+        contacts[id] = null;
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+        }
+        freeIds[freeCount++] = id;
+    }
+
+    @Override
+    public void clear() {
+        postings.clear();
+        idsByKey.clear();
+        keys = new char[64][];
+        contacts = new Contact[64];
+        charMasks = new long[64];
+        sharedGrams = new byte[64];
+        freeCount = 0;
+        nextId = 0;
+    }
+
+    /**
+     * Default number of edits tolerated for a query of the given length:
+     * none up to 3 characters, then one per roughly four characters, at most 3
+     */
+    public static int defaultMaxDistance(int queryLength) {
+        if (queryLength <= 3) {
+            return 0;
+        }
+        if (queryLength <= 6) {
+            return 1;
+        }
+        return queryLength <= 11 ? 2 : 3;
+    }
+
+    /**
+     * Returns up to limit contacts whose name is within maxDistance edits of the query
+     * (case-insensitive; a swap of two neighbouring characters counts as one edit),
+     * closest first and then by name
+     */
+    public List<Contact> findSimilar(String name, int maxDistance, int limit) {
+        if (limit == 0 || idsByKey.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Query query = new Query(ContactKeys.nameKey(name).toCharArray());
+        long[] grams = distinctGrams(query.chars);
+
+        // Worst match on top, so it is the one evicted when a closer match turns up
+        PriorityQueue<Match> best = new PriorityQueue<>(Comparator.reverseOrder());
+        boolean indexed = EDITS_PER_GRAM_LOSS * maxDistance < grams.length
+                && query.chars.length + maxDistance < MAX_INDEXED_LENGTH;
+        if (!indexed) {
+            // Short query with many edits allowed: a match may share no trigram at all
+            for (int id = 0; id < nextId; id++) {
+                if (keys[id] != null) {
+                    verify(query, id, maxDistance, limit, best);
+                }
+            }
+        } else {
+            // Same length first: once the result is full, the worst distance kept becomes
+            // the bound, which skips the other lengths and probes fewer postings
+            int length = query.chars.length;
+            for (int offset = 0; offset <= reach(best, maxDistance, limit); offset++) {
+                verifyCandidates(query, grams, length + offset, reach(best, maxDistance, limit), limit, best);
+                if (offset > 0 && length - offset >= 0 && offset <= reach(best, maxDistance, limit)) {
+                    verifyCandidates(query, grams, length - offset, reach(best, maxDistance, limit), limit, best);
+                }
+            }
+        }
+
+        Match[] ranked = best.toArray(new Match[0]);
+        Arrays.sort(ranked);
+        List<Contact> matches = new ArrayList<>(ranked.length);
+        for (Match match : ranked) {
+            matches.add(match.contact);
+        }
+        return matches;
+    }
+
+    private static int reach(PriorityQueue<Match> best, int maxDistance, int limit) {
+        return best.size() < limit ? maxDistance : best.peek().distance;
+    }
+
+    private void verify(Query query, int id, int maxDistance, int limit, PriorityQueue<Match> best) {
+        // Once the result is full, only names at least as close as the worst kept one matter
+        int bound = reach(best, maxDistance, limit);
+        if (Long.bitCount(charMasks[id] ^ query.charMask) > 2 * bound) {
+            return;
+        }
+        int distance = query.chars.length <= Long.SIZE
+                ? bitParallelDistance(query, keys[id], bound)
+                : boundedDistance(query.chars, keys[id], bound);
+        if (distance > bound) {
+            return;
+        }
+        Match match = new Match(distance, keys[id], contacts[id]);
+        if (best.size() < limit) {
+            best.add(match);
+        } else if (match.compareTo(best.peek()) < 0) {
+            best.poll();
+            best.add(match);
+        }
+    }
+
+    /**
+     * Checks the names of one length. Collects candidates from the 4k + 1 shortest postings,
+     * counts how many of the query's trigrams each one shares, and verifies those sharing
+     * at least (trigrams - 4k). Counting through the remaining, longer postings is skipped
+     * when it would cost more than verifying every candidate.
+     */
+    private void verifyCandidates(Query query, long[] grams, int nameLength, int maxDistance, int limit,
+                                  PriorityQueue<Match> best) {
+        Postings[] lists = new Postings[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            lists[i] = postings.getOrDefault(postingKey(grams[i], nameLength), Postings.EMPTY);
+        }
+        Arrays.sort(lists, Comparator.comparingInt(ids -> ids.size));
+        int probed = EDITS_PER_GRAM_LOSS * maxDistance + 1;
+        int minShared = grams.length - EDITS_PER_GRAM_LOSS * maxDistance;
+
+        int candidateCount = 0;
+        for (int l = 0; l < probed; l++) {
+            Postings ids = lists[l];
+            for (int i = 0; i < ids.size; i++) {
+                int id = ids.ids[i];
+                if (sharedGrams[id]++ == 0) {
+                    if (candidateCount == candidates.length) {
+                        candidates = Arrays.copyOf(candidates, candidateCount * 2);
+                    }
+                    candidates[candidateCount++] = id;
+                }
+            }
+        }
+
+        long remainingPostings = 0;
+        for (int l = probed; l < lists.length; l++) {
+            remainingPostings += lists[l].size;
+        }
+        boolean counted = remainingPostings <= (long) candidateCount * COUNTS_PER_VERIFICATION;
+        if (counted) {
+            for (int l = probed; l < lists.length; l++) {
+                Postings ids = lists[l];
+                for (int i = 0; i < ids.size; i++) {
+                    int id = ids.ids[i];
+                    byte shared = sharedGrams[id];
+                    if (shared != 0 && shared < Byte.MAX_VALUE) {
+                        sharedGrams[id] = (byte) (shared + 1);
+                    }
+                }
+            }
+        }
+
+        for (int c = 0; c < candidateCount; c++) {
+            int id = candidates[c];
+            if (!counted || sharedGrams[id] >= Math.min(minShared, Byte.MAX_VALUE)) {
+                verify(query, id, maxDistance, limit, best);
+            }
+            sharedGrams[id] = 0;
+        }
+    }
+
+    private int allocateId() {
+        if (freeCount > 0) {
+            return freeIds[--freeCount];
+        }
+        if (nextId == keys.length) {
+            int capacity = keys.length * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            contacts = Arrays.copyOf(contacts, capacity);
+            charMasks = Arrays.copyOf(charMasks, capacity);
+            sharedGrams = Arrays.copyOf(sharedGrams, capacity);
+        }
+        return nextId++;
+    }
+
+    /**
+     * Packs every trigram of the padded key into a long (three 16-bit chars), deduplicated
+     */
+    static long[] distinctGrams(char[] key) {
+        int padded = key.length + 4;
+        long[] grams = new long[padded - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) charAt(key, i - 2) << 32) | ((long) charAt(key, i - 1) << 16) | charAt(key, i);
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    /**
+     * Set of characters in the key, hashed to 64 bits. An edit adds or drops at most one
+     * character on each side, so names within k edits differ in at most 2k bits.
+     */
+    static long charMask(char[] key) {
+        long mask = 0;
+        for (char c : key) {
+            mask |= 1L << c;
+        }
+        return mask;
+    }
+
+    /**
+     * Trigram plus name length: postings are split by length so a query only reads names
+     * whose length is within the distance bound. The packed value is scrambled with an
+     * invertible multiply (keys stay unique) because Long.hashCode of the raw chars collides a lot.
+     */
+    private static long postingKey(long gram, int nameLength) {
+        return (gram | ((long) nameLength << 48)) * 0x9E3779B97F4A7C15L;
+    }
+
+    private static char charAt(char[] key, int index) {
+        return index < 0 || index >= key.length ? PAD : key[index];
+    }
+
+    /**
+     * Optimal string alignment distance for queries of up to 64 characters, one column of
+     * the distance matrix per text character as bit vectors (Myers/Hyyrö, with Hyyrö's
+     * transposition extension). Returns bound + 1 once the distance must exceed bound.
+     */
+    static int bitParallelDistance(Query query, char[] text, int bound) {
+        int m = query.chars.length;
+        if (Math.abs(m - text.length) > bound) {
+            return bound + 1;
+        }
+        if (m == 0) {
+            return text.length;
+        }
+        long last = 1L << (m - 1);
+        long positive = -1L;
+        long negative = 0;
+        long previousDiagonal = 0;
+        long previousMatches = 0;
+        int score = m;
+        for (int j = 0; j < text.length; j++) {
+            long matches = query.matchMask(text[j]);
+            long transposed = (((~previousDiagonal) & matches) << 1) & previousMatches;
+            long diagonal = (((matches & positive) + positive) ^ positive) | matches | negative | transposed;
+            long horizontalPositive = negative | ~(diagonal | positive);
+            long horizontalNegative = positive & diagonal;
+            if ((horizontalPositive & last) != 0) {
+                score++;
+            } else if ((horizontalNegative & last) != 0) {
+                score--;
+            }
+            // Each remaining text character can lower the score by at most one
+            if (score - (text.length - 1 - j) > bound) {
+                return bound + 1;
+            }
+            horizontalPositive = (horizontalPositive << 1) | 1;
+            horizontalNegative <<= 1;
+            positive = horizontalNegative | ~(diagonal | horizontalPositive);
+            negative = horizontalPositive & diagonal;
+            previousDiagonal = diagonal;
+            previousMatches = matches;
+        }
+        return Math.min(score, bound + 1);
+    }
+
+    /**
+     * Optimal string alignment distance, or bound + 1 as soon as it is known to exceed bound.
+     * Only the diagonal band of width 2 * bound + 1 is computed; cells outside it cannot
+     * lead to a result within the bound.
+     */
+    int boundedDistance(char[] a, char[] b, int bound) {
+        if (Math.abs(a.length - b.length) > bound) {
+            return bound + 1;
+        }
+        int over = bound + 1;
+        int columns = b.length + 1;
+        if (rows[0].length < columns) {
+            for (int r = 0; r < rows.length; r++) {
+                rows[r] = new int[Math.max(columns, rows[r].length * 2)];
+            }
+        }
+        int[] previous2 = rows[0];
+        int[] previous = rows[1];
+        int[] current = rows[2];
+        for (int j = 0; j < columns; j++) {
+            previous[j] = Math.min(j, over);
+        }
+        for (int i = 1; i <= a.length; i++) {
+            int lo = Math.max(1, i - bound);
+            int hi = Math.min(b.length, i + bound);
+            current[lo - 1] = lo == 1 ? Math.min(i, over) : over;
+            if (hi < b.length) {
+                current[hi + 1] = over;
+            }
+            int rowMin = current[lo - 1];
+            char ca = a[i - 1];
+            for (int j = lo; j <= hi; j++) {
+                char cb = b[j - 1];
+                int cost = ca == cb ? 0 : 1;
+                int value = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && ca == b[j - 2] && a[i - 2] == cb) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = Math.min(value, over);
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > bound) {
+                return over;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length];
+    }
+
+    /**
+     * Query key with a bit mask per character of the positions where it occurs
+     */
+    static final class Query {
+        final char[] chars;
+        final long charMask;
+        private final long[] latin1Masks = new long[256];
+        private final Map<Character, Long> otherMasks = new HashMap<>();
+
+        Query(char[] chars) {
+            this.chars = chars;
+            this.charMask = charMask(chars);
+            for (int i = 0; i < Math.min(chars.length, Long.SIZE); i++) {
+                char c = chars[i];
+                if (c < 256) {
+                    latin1Masks[c] |= 1L << i;
+                } else {
+                    otherMasks.merge(c, 1L << i, (a, b) -> a | b);
+                }
+            }
+        }
+
+        long matchMask(char c) {
+            if (c < 256) {
+                return latin1Masks[c];
+            }
+            return otherMasks.isEmpty() ? 0 : otherMasks.getOrDefault(c, 0L);
+        }
+    }
+
+    private static final class Match implements Comparable<Match> {
+        final int distance;
+        final char[] key;
+        final Contact contact;
+
+        Match(int distance, char[] key, Contact contact) {
+            this.distance = distance;
+            this.key = key;
+            this.contact = contact;
+        }
+
+        @Override
+        public int compareTo(Match other) {
+            int byDistance = Integer.compare(distance, other.distance);
+            return byDistance != 0 ? byDistance : Arrays.compare(key, other.key);
+        }
+    }
+
+    /**
+     * Unordered, growable list of contact ids
+     */
+    private static final class Postings {
+        static final Postings EMPTY = new Postings();
+
+        int[] ids = new int[4];
+        int size;
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        boolean remove(int id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    ids[i] = ids[--size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
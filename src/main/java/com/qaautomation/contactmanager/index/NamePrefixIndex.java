@@ -0,0 +1,48 @@
+package com.qaautomation.contactmanager.index;
+
+import com.qaautomation.contactmanager.Contact;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Sorted name index for type-ahead search.
+ * Names are kept ordered by their case-insensitive key, so a prefix query
+ * seeks to the first candidate in O(log n) and walks only the K results.
+ */
+public class NamePrefixIndex implements ContactIndex {
+
+    private final TreeMap<String, Contact> contactsByName = new TreeMap<>();
+
+    @Override
+    public void add(Contact contact) {
+        contactsByName.put(ContactKeys.nameKey(contact.getName()), contact);
+    }
+
+    @Override
+    public void remove(Contact contact) {
+        contactsByName.remove(ContactKeys.nameKey(contact.getName()), contact);
+    }
+
+    @Override
+    public void clear() {
+        contactsByName.clear();
+    }
+
+    /**
+     * Returns up to limit contacts whose name starts with the prefix, sorted by name
+     */
+    public List<Contact> findByPrefix(String prefix, int limit) {
+        String keyPrefix = ContactKeys.nameKey(prefix);
+        List<Contact> matches = new ArrayList<>(Math.min(limit, 16));
+        for (Map.Entry<String, Contact> entry : contactsByName.tailMap(keyPrefix, true).entrySet()) {
+            if (matches.size() >= limit || !entry.getKey().startsWith(keyPrefix)) {
+                break;
+            }
+            matches.add(entry.getValue());
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,63 @@
+package com.qaautomation.contactmanager.index;
+
+import com.qaautomation.contactmanager.Contact;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caller-ID index: normalized phone number -> contacts sharing that number
+ */
+public class PhoneNumberIndex implements ContactIndex {
+
+    private final Map<String, List<Contact>> contactsByNumber = new HashMap<>();
+
+    @Override
+    public void add(Contact contact) {
+        contactsByNumber.computeIfAbsent(ContactKeys.phoneKey(contact.getPhoneNumber()), key -> new ArrayList<>(1))
+                .add(contact);
+    }
+
+    @Override
+    public void remove(Contact contact) {
+        String key = ContactKeys.phoneKey(contact.getPhoneNumber());
+        List<Contact> contacts = contactsByNumber.get(key);
+        if (contacts == null) {
+            return;
+        }
+        for (int i = 0; i < contacts.size(); i++) {
+            // By name, not identity: stores may hand out a new Contact instance on every access
+            if (contacts.get(i).equals(contact)) {
+                contacts.remove(i);
+                break;
+            }
+        }
+        if (contacts.isEmpty()) {
+            contactsByNumber.remove(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        contactsByNumber.clear();
+    }
+
+    /**
+     * Returns the first contact registered with the number, or null
+     */
+    public Contact find(String phoneNumber) {
+        List<Contact> contacts = contactsByNumber.get(ContactKeys.phoneKey(phoneNumber));
+        return contacts == null ? null : contacts.get(0);
+    }
+
+    /**
+     * Returns every contact registered with the number
+     */
+    public List<Contact> findAll(String phoneNumber) {
+        List<Contact> contacts = contactsByNumber.get(ContactKeys.phoneKey(phoneNumber));
+        return contacts == null ? Collections.emptyList() : Collections.unmodifiableList(contacts);
+    }
+}
@@ -0,0 +1,197 @@
+package com.qaautomation.contactmanager.index;
+
+import com.qaautomation.contactmanager.Contact;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Sound-alike name index: phonetic code per name token -> contacts with a token of that code.
+ *
+ * Codes are computed once when a contact is added and looked up by hash, so a query only
+ * encodes its own tokens. A contact matches when every token of the query sounds like one
+ * of its tokens, in any order ("Stoilkovich" finds "Marko Stojilković"). Only Latin letters
+ * are coded; accents are ignored and tokens in other scripts are skipped.
+ */
+public class PhoneticNameIndex implements ContactIndex {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    // Name key -> codes of its tokens, and code -> name keys of the contacts having it
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<String, Map<String, Entry>> entriesByCode = new HashMap<>();
+
+    @Override
+    public void add(Contact contact) {
+        String key = ContactKeys.nameKey(contact.getName());
+        Entry entry = new Entry(contact, codes(contact.getName()));
+        if (entries.putIfAbsent(key, entry) != null) {
+            return;
+        }
+        for (String code : entry.codes) {
+            entriesByCode.computeIfAbsent(code, c -> new HashMap<>()).put(key, entry);
+        }
+    }
+
+    @Override
+    public void remove(Contact contact) {
+        String key = ContactKeys.nameKey(contact.getName());
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return;
+        }
+        for (String code : entry.codes) {
+            Map<String, Entry> bucket = entriesByCode.get(code);
+            bucket.remove(key);
+            if (bucket.isEmpty()) {
+                entriesByCode.remove(code);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        entries.clear();
+        entriesByCode.clear();
+    }
+
+    /**
+     * Returns up to limit contacts whose name tokens sound like every token of the query,
+     * sorted by name
+     */
+    public List<Contact> findSoundAlike(String name, int limit) {
+        Set<String> queryCodes = codes(name);
+        if (queryCodes.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // Walk the smallest bucket and check the other codes against each entry
+        Map<String, Entry> smallest = null;
+        for (String code : queryCodes) {
+            Map<String, Entry> bucket = entriesByCode.get(code);
+            if (bucket == null) {
+                return Collections.emptyList();
+            }
+            if (smallest == null || bucket.size() < smallest.size()) {
+                smallest = bucket;
+            }
+        }
+
+        TreeMap<String, Contact> matches = new TreeMap<>();
+        for (Map.Entry<String, Entry> candidate : smallest.entrySet()) {
+            if (candidate.getValue().codes.containsAll(queryCodes)) {
+                matches.put(candidate.getKey(), candidate.getValue().contact);
+                if (matches.size() > limit) {
+                    matches.pollLastEntry();
+                }
+            }
+        }
+        return new ArrayList<>(matches.values());
+    }
+
+    /**
+     * Phonetic codes of the letter runs in the name, in order of appearance
+     */
+    static Set<String> codes(String name) {
+        Set<String> codes = new LinkedHashSet<>();
+        String letters = fold(name);
+        int start = -1;
+        for (int i = 0; i <= letters.length(); i++) {
+            boolean letter = i < letters.length() && letters.charAt(i) >= 'a' && letters.charAt(i) <= 'z';
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                codes.add(encode(letters.substring(start, i)));
+                start = -1;
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * Encodes one lower-case ASCII word.
+     *
+     * A Soundex-style code without the four-character limit: consonants map to sound classes
+     * (b f p v | c g k q s x z | d t | l | m n | r), vowels and the semivowels h, w, j, y
+     * separate letters but are not coded, and adjacent repeats collapse. Unlike Soundex the
+     * first letter is coded by class too ("Christina" and "Kristina" match), a leading vowel
+     * is kept as 'A', silent leading letters (kn, gn, pn, ps, wr) are dropped and "ph" is
+     * read as f.
+     */
+    public static String encode(String word) {
+        String w = word;
+        if (w.length() > 1 && (w.startsWith("kn") || w.startsWith("gn") || w.startsWith("pn")
+                || w.startsWith("ps") || w.startsWith("wr"))) {
+            w = w.substring(1);
+        }
+        w = w.replace("ph", "f");
+
+        StringBuilder code = new StringBuilder(w.length());
+        if (!w.isEmpty() && "aeiou".indexOf(w.charAt(0)) >= 0) {
+            code.append('A');
+        }
+        char last = 0;
+        for (int i = 0; i < w.length(); i++) {
+            char soundClass = soundClass(w.charAt(i));
+            if (soundClass == 0) {
+                // Vowels separate repeats ("Bab" keeps both b); h, w, j and y do not
+                if ("aeiou".indexOf(w.charAt(i)) >= 0) {
+                    last = 0;
+                }
+                continue;
+            }
+            if (soundClass != last) {
+                code.append(soundClass);
+            }
+            last = soundClass;
+        }
+        return code.length() == 0 ? "A" : code.toString();
+    }
+
+    private static char soundClass(char c) {
+        switch (c) {
+            case 'b': case 'f': case 'p': case 'v':
+                return '1';
+            case 'c': case 'g': case 'k': case 'q': case 's': case 'x': case 'z':
+                return '2';
+            case 'd': case 't':
+                return '3';
+            case 'l':
+                return '4';
+            case 'm': case 'n':
+                return '5';
+            case 'r':
+                return '6';
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Lower-cases and strips accents ("Stojilković" -> "stojilkovic"); letters without
+     * an ASCII base are dropped, except the few spelled out below
+     */
+    private static String fold(String name) {
+        String lower = name.toLowerCase(Locale.ROOT)
+                .replace("đ", "dj").replace("ß", "ss").replace("æ", "ae").replace("ø", "o").replace("ł", "l");
+        return COMBINING_MARKS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+    }
+
+    private static final class Entry {
+        final Contact contact;
+        final Set<String> codes;
+
+        Entry(Contact contact, Set<String> codes) {
+            this.contact = contact;
+            this.codes = codes;
+        }
+    }
+}
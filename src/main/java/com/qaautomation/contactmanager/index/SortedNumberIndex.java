@@ -0,0 +1,73 @@
+package com.qaautomation.contactmanager.index;
+
+import com.qaautomation.contactmanager.Contact;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Contacts ordered by phone number, compared by their digits only (see ContactKeys.phoneKey)
+ * so formatting does not affect the order; contacts sharing a number are ordered by name key.
+ * A range of k numbers, e.g. one area code, costs O(log n + k).
+ */
+public class SortedNumberIndex implements ContactIndex {
+
+    // Phone key + '\0' + name key: '\0' sorts before any other character, so the phone key decides first
+    private final TreeMap<String, Contact> contactsByNumber = new TreeMap<>();
+
+    @Override
+    public void add(Contact contact) {
+        contactsByNumber.put(key(contact), contact);
+    }
+
+    @Override
+    public void remove(Contact contact) {
+        contactsByNumber.remove(key(contact));
+    }
+
+    @Override
+    public void clear() {
+        contactsByNumber.clear();
+    }
+
+    /**
+     * Returns all contacts sorted by phone number
+     */
+    public List<Contact> sorted() {
+        return new ArrayList<>(contactsByNumber.values());
+    }
+
+    /**
+     * Returns up to limit contacts, sorted by phone number, from fromNumber (inclusive) to
+     * toNumber (exclusive); a null bound leaves that side open
+     */
+    public List<Contact> range(String fromNumber, String toNumber, int limit) {
+        NavigableMap<String, Contact> range = contactsByNumber;
+        String from = fromNumber == null ? null : ContactKeys.phoneKey(fromNumber);
+        String to = toNumber == null ? null : ContactKeys.phoneKey(toNumber);
+        if (from != null && to != null && from.compareTo(to) > 0) {
+            return new ArrayList<>();
+        }
+        if (from != null) {
+            range = range.tailMap(from, true);
+        }
+        if (to != null) {
+            range = range.headMap(to, false);
+        }
+
+        List<Contact> matches = new ArrayList<>(Math.min(limit, 16));
+        for (Contact contact : range.values()) {
+            if (matches.size() >= limit) {
+                break;
+            }
+            matches.add(contact);
+        }
+        return matches;
+    }
+
+    private static String key(Contact contact) {
+        return ContactKeys.phoneKey(contact.getPhoneNumber()) + '\0' + ContactKeys.nameKey(contact.getName());
+    }
+}
@@ -0,0 +1,230 @@
+package com.qaautomation.contactmanager.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Operation counters for a phonebook.
+ *
+ * Counters are LongAdders, so recording from many threads stays cheap: each thread
+ * updates its own cell and the cells are only summed when a value is read. Reads are
+ * therefore not an atomic view across counters; snapshot() is consistent enough for
+ * monitoring but two counters read at the same moment may include different events.
+ */
+public class ContactMetrics implements ContactMetricsMXBean {
+
+    public static final String JMX_DOMAIN = "com.qaautomation.contactmanager";
+
+    private final LongAdder lookupHits = new LongAdder();
+    private final LongAdder lookupMisses = new LongAdder();
+    private final LongAdder lookupNanos = new LongAdder();
+    private final LongAdder contactsAdded = new LongAdder();
+    private final LongAdder duplicateRejections = new LongAdder();
+    private final LongAdder updates = new LongAdder();
+    private final LongAdder failedUpdates = new LongAdder();
+    private final LongAdder removes = new LongAdder();
+    private final LongAdder failedRemoves = new LongAdder();
+
+    public void recordLookup(boolean hit, long nanos) {
+        (hit ? lookupHits : lookupMisses).increment();
+        lookupNanos.add(nanos);
+    }
+
+    public void recordAdd(boolean added) {
+        (added ? contactsAdded : duplicateRejections).increment();
+    }
+
+    public void recordAdds(long added, long rejected) {
+        contactsAdded.add(added);
+        duplicateRejections.add(rejected);
+    }
+
+    public void recordUpdate(boolean updated) {
+        (updated ? updates : failedUpdates).increment();
+    }
+
+    public void recordRemove(boolean removed) {
+        (removed ? removes : failedRemoves).increment();
+    }
+
+    @Override
+    public long getLookups() {
+        return lookupHits.sum() + lookupMisses.sum();
+    }
+
+    @Override
+    public long getLookupHits() {
+        return lookupHits.sum();
+    }
+
+    @Override
+    public long getLookupMisses() {
+        return lookupMisses.sum();
+    }
+
+    @Override
+    public double getLookupHitRatio() {
+        return snapshot().getLookupHitRatio();
+    }
+
+    @Override
+    public long getLookupTimeNanos() {
+        return lookupNanos.sum();
+    }
+
+    @Override
+    public double getAverageLookupNanos() {
+        return snapshot().getAverageLookupNanos();
+    }
+
+    @Override
+    public long getContactsAdded() {
+        return contactsAdded.sum();
+    }
+
+    @Override
+    public long getDuplicateRejections() {
+        return duplicateRejections.sum();
+    }
+
+    @Override
+    public long getUpdates() {
+        return updates.sum();
+    }
+
+    @Override
+    public long getFailedUpdates() {
+        return failedUpdates.sum();
+    }
+
+    @Override
+    public long getRemoves() {
+        return removes.sum();
+    }
+
+    @Override
+    public long getFailedRemoves() {
+        return failedRemoves.sum();
+    }
+
+    @Override
+    public void reset() {
+        lookupHits.reset();
+        lookupMisses.reset();
+        lookupNanos.reset();
+        contactsAdded.reset();
+        duplicateRejections.reset();
+        updates.reset();
+        failedUpdates.reset();
+        removes.reset();
+        failedRemoves.reset();
+    }
+
+    /**
+     * Reads every counter once
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(lookupHits.sum(), lookupMisses.sum(), lookupNanos.sum(),
+                contactsAdded.sum(), duplicateRejections.sum(), updates.sum(), failedUpdates.sum(),
+                removes.sum(), failedRemoves.sum());
+    }
+
+    /**
+     * Registers these counters with the platform MBean server under
+     * com.qaautomation.contactmanager:type=ContactMetrics,name=<name>.
+     * A bean already registered under that name is replaced.
+     */
+    public ObjectName registerMBean(String name) throws JMException {
+        ObjectName objectName = objectName(name);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(this, objectName);
+        } catch (InstanceAlreadyExistsException e) {
+            server.unregisterMBean(objectName);
+            server.registerMBean(this, objectName);
+        }
+        return objectName;
+    }
+
+    public static void unregisterMBean(String name) throws JMException {
+        ObjectName objectName = objectName(name);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        if (server.isRegistered(objectName)) {
+            server.unregisterMBean(objectName);
+        }
+    }
+
+    public static ObjectName objectName(String name) throws JMException {
+        return new ObjectName(JMX_DOMAIN + ":type=ContactMetrics,name=" + ObjectName.quote(name));
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    /**
+     * Point-in-time copy of the counters
+     */
+    public static class Snapshot {
+        private final long lookupHits;
+        private final long lookupMisses;
+        private final long lookupNanos;
+        private final long contactsAdded;
+        private final long duplicateRejections;
+        private final long updates;
+        private final long failedUpdates;
+        private final long removes;
+        private final long failedRemoves;
+
+        private Snapshot(long lookupHits, long lookupMisses, long lookupNanos, long contactsAdded,
+                         long duplicateRejections, long updates, long failedUpdates,
+                         long removes, long failedRemoves) {
+            this.lookupHits = lookupHits;
+            this.lookupMisses = lookupMisses;
+            this.lookupNanos = lookupNanos;
+            this.contactsAdded = contactsAdded;
+            this.duplicateRejections = duplicateRejections;
+            this.updates = updates;
+            this.failedUpdates = failedUpdates;
+            this.removes = removes;
+            this.failedRemoves = failedRemoves;
+        }
+
+        public long getLookups() { return lookupHits + lookupMisses; }
+        public long getLookupHits() { return lookupHits; }
+        public long getLookupMisses() { return lookupMisses; }
+        public long getLookupTimeNanos() { return lookupNanos; }
+        public long getContactsAdded() { return contactsAdded; }
+        public long getDuplicateRejections() { return duplicateRejections; }
+        public long getUpdates() { return updates; }
+        public long getFailedUpdates() { return failedUpdates; }
+        public long getRemoves() { return removes; }
+        public long getFailedRemoves() { return failedRemoves; }
+
+        /**
+         * Fraction of lookups that found a contact, or 0 if there were none
+         */
+        public double getLookupHitRatio() {
+            long lookups = getLookups();
+            return lookups == 0 ? 0 : (double) lookupHits / lookups;
+        }
+
+        public double getAverageLookupNanos() {
+            long lookups = getLookups();
+            return lookups == 0 ? 0 : (double) lookupNanos / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("ContactMetrics{lookups=%d, hitRatio=%.3f, avgLookupNanos=%.1f, added=%d, "
+                            + "duplicates=%d, updates=%d, failedUpdates=%d, removes=%d, failedRemoves=%d}",
+                    getLookups(), getLookupHitRatio(), getAverageLookupNanos(), contactsAdded,
+                    duplicateRejections, updates, failedUpdates, removes, failedRemoves);
+        }
+    }
+}
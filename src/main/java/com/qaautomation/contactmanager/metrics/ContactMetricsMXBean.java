@@ -0,0 +1,36 @@
+package com.qaautomation.contactmanager.metrics;
+
+/**
+ * JMX view of a phonebook's operation counters
+ */
+public interface ContactMetricsMXBean {
+
+    long getLookups();
+
+    long getLookupHits();
+
+    long getLookupMisses();
+
+    double getLookupHitRatio();
+
+    long getLookupTimeNanos();
+
+    double getAverageLookupNanos();
+
+    long getContactsAdded();
+
+    long getDuplicateRejections();
+
+    long getUpdates();
+
+    long getFailedUpdates();
+
+    long getRemoves();
+
+    long getFailedRemoves();
+
+    /**
+     * Sets every counter back to zero
+     */
+    void reset();
+}
@@ -0,0 +1,346 @@
+package com.qaautomation.contactmanager.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only write-ahead log of contact mutations, split into numbered segments.
+ *
+ * Records are appended by callers and written by a single background thread,
+ * which drains everything queued since its last pass, writes it and issues one
+ * fsync for the whole batch (group commit). Callers that need durability wait
+ * for their record's sequence number via awaitDurable.
+ *
+ * Record layout: payload length (int) | type (byte) | fields | CRC32 of type and fields (int).
+ * Each field is a UTF-8 string prefixed with its byte length (int). Replay stops at the
+ * first incomplete or corrupted record; a crash can only tear the tail of the segment that
+ * was being written, so anything else is corruption the caller has to decide about.
+ */
+public class ContactJournal implements Closeable {
+
+    public static final byte ADD = 1;
+    public static final byte UPDATE = 2;
+    public static final byte REMOVE = 3;
+    public static final byte CLEAR = 4;
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int MAX_RECORD_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * Receives replayed records in log order
+     */
+    public interface RecordHandler {
+        void apply(byte type, String[] fields);
+    }
+
+    private final Path directory;
+    private final ArrayDeque<Object> pending = new ArrayDeque<>();
+    private final Thread writerThread;
+
+    // Guarded by this
+    private long appendedSequence;
+    private long durableSequence;
+    private IOException failure;
+    private boolean closing;
+
+    // Owned by the writer thread
+    private FileChannel channel;
+    private volatile long generation;
+    private volatile long segmentBytes;
+
+    /**
+     * Opens a new, empty segment with the given generation number and starts the writer thread
+     */
+    public ContactJournal(Path directory, long generation) throws IOException {
+        this.directory = directory;
+        this.generation = generation;
+        this.channel = openSegment(generation);
+        this.writerThread = new Thread(this::writeLoop, "contact-journal-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Size of the active segment in bytes, as written so far
+     */
+    public long getSegmentBytes() {
+        return segmentBytes;
+    }
+
+    /**
+     * Queues a record and returns its sequence number
+     */
+    public synchronized long append(byte type, String... fields) {
+        checkUsable();
+        pending.add(encode(type, fields));
+        notifyAll();
+        return ++appendedSequence;
+    }
+
+    /**
+     * Queues several records of one type as a unit: either all are queued or, if the journal
+     * is unusable, none. Returns the sequence number of the last one.
+     */
+    public synchronized long appendAll(byte type, List<String[]> records) {
+        checkUsable();
+        for (String[] fields : records) {
+            pending.add(encode(type, fields));
+        }
+        notifyAll();
+        appendedSequence += records.size();
+        return appendedSequence;
+    }
+
+    /**
+     * Makes the writer switch to a new segment after all records queued so far.
+     * Returns the sequence number to wait for; once durable, the old segment is closed.
+     */
+    public synchronized long rotate(long newGeneration) {
+        checkUsable();
+        pending.add(newGeneration);
+        notifyAll();
+        return ++appendedSequence;
+    }
+
+    /**
+     * Blocks until every record up to the sequence number is written and fsynced
+     */
+    public synchronized void awaitDurable(long sequence) {
+        boolean interrupted = false;
+        while (durableSequence < sequence && failure == null) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (durableSequence < sequence) {
+            throw new UncheckedIOException("Contact journal write failed", failure);
+        }
+    }
+
+    /**
+     * Flushes all queued records, stops the writer and closes the active segment
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            closing = true;
+            notifyAll();
+        }
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        synchronized (this) {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    private void checkUsable() {
+        if (closing) {
+            throw new IllegalStateException("Contact journal is closed");
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("Contact journal write failed", failure);
+        }
+    }
+
+    private void writeLoop() {
+        List<Object> batch = new ArrayList<>();
+        while (true) {
+            long batchEnd;
+            synchronized (this) {
+                while (pending.isEmpty() && !closing) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        closing = true;
+                    }
+                }
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch.addAll(pending);
+                pending.clear();
+                batchEnd = appendedSequence;
+            }
+
+            try {
+                for (Object item : batch) {
+                    if (item instanceof byte[]) {
+                        ByteBuffer record = ByteBuffer.wrap((byte[]) item);
+                        while (record.hasRemaining()) {
+                            channel.write(record);
+                        }
+                        segmentBytes += ((byte[]) item).length;
+                    } else {
+                        channel.force(false);
+                        channel.close();
+                        long newGeneration = (Long) item;
+                        channel = openSegment(newGeneration);
+                        generation = newGeneration;
+                        segmentBytes = 0;
+                    }
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                synchronized (this) {
+                    failure = e;
+                    notifyAll();
+                }
+                return;
+            }
+            batch.clear();
+
+            synchronized (this) {
+                durableSequence = batchEnd;
+                notifyAll();
+            }
+        }
+    }
+
+    private FileChannel openSegment(long segmentGeneration) throws IOException {
+        return FileChannel.open(segmentPath(directory, segmentGeneration),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    static byte[] encode(byte type, String... fields) {
+        byte[][] encodedFields = new byte[fields.length][];
+        int payloadLength = 1;
+        for (int i = 0; i < fields.length; i++) {
+            encodedFields[i] = fields[i].getBytes(StandardCharsets.UTF_8);
+            payloadLength += 4 + encodedFields[i].length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(4 + payloadLength + 4);
+        buffer.putInt(payloadLength);
+        buffer.put(type);
+        for (byte[] field : encodedFields) {
+            buffer.putInt(field.length);
+            buffer.put(field);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 4, payloadLength);
+        buffer.putInt((int) crc.getValue());
+        return buffer.array();
+    }
+
+    /**
+     * Replays one segment into the handler.
+     * Returns the number of records applied; stops quietly at a torn or corrupted tail.
+     */
+    public static int replay(Path segment, RecordHandler handler) throws IOException {
+        int[] applied = {0};
+        replayValidPrefix(segment, (type, fields) -> {
+            handler.apply(type, fields);
+            applied[0]++;
+        });
+        return applied[0];
+    }
+
+    /**
+     * Replays one segment into the handler and returns the length in bytes of its intact
+     * records; if that is less than the file size, the rest is torn or corrupted
+     */
+    static long replayValidPrefix(Path segment, RecordHandler handler) throws IOException {
+        long validBytes = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment)))) {
+            while (true) {
+                byte[] payload;
+                try {
+                    int payloadLength = in.readInt();
+                    if (payloadLength < 1 || payloadLength > MAX_RECORD_SIZE) {
+                        break;
+                    }
+                    payload = new byte[payloadLength];
+                    in.readFully(payload);
+                    CRC32 crc = new CRC32();
+                    crc.update(payload);
+                    if ((int) crc.getValue() != in.readInt()) {
+                        break;
+                    }
+                } catch (EOFException e) {
+                    break;
+                }
+
+                ByteBuffer buffer = ByteBuffer.wrap(payload);
+                byte type = buffer.get();
+                List<String> fields = new ArrayList<>(3);
+                while (buffer.hasRemaining()) {
+                    int length = buffer.getInt();
+                    fields.add(new String(payload, buffer.position(), length, StandardCharsets.UTF_8));
+                    buffer.position(buffer.position() + length);
+                }
+                handler.apply(type, fields.toArray(new String[0]));
+                validBytes += 4 + payload.length + 4;
+            }
+        }
+        return validBytes;
+    }
+
+    /**
+     * Cuts a segment back to its intact records, dropping a tail torn by a crash
+     */
+    static void truncate(Path segment, long length) throws IOException {
+        try (FileChannel file = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            file.truncate(length);
+            file.force(false);
+        }
+    }
+
+    static Path segmentPath(Path directory, long generation) {
+        return directory.resolve(SEGMENT_PREFIX + String.format("%019d", generation) + SEGMENT_SUFFIX);
+    }
+
+    /**
+     * Lists the generation numbers of all segments in the directory, ascending
+     */
+    static List<Long> listSegments(Path directory) throws IOException {
+        return listGenerations(directory, SEGMENT_PREFIX, SEGMENT_SUFFIX);
+    }
+
+    static List<Long> listGenerations(Path directory, String prefix, String suffix) throws IOException {
+        List<Long> generations = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, prefix + "*" + suffix)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    generations.add(Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())));
+                } catch (NumberFormatException e) {
+                    // Not one of ours
+                }
+            }
+        }
+        Collections.sort(generations);
+        return generations;
+    }
+}
@@ -0,0 +1,232 @@
+package com.qaautomation.contactmanager.persistence;
+
+import com.qaautomation.contactmanager.Contact;
+import com.qaautomation.contactmanager.MobilePhone;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary snapshot of a MobilePhone for fast startup.
+ *
+ * Layout (big-endian):
+ *   magic "MPCS" | version (short) | owner number | contact count (int)
+ *   | count x (name, phone number) | CRC32 of all preceding bytes (int)
+ * Strings are UTF-8 bytes prefixed with their length as an unsigned varint.
+ * Loading reads the file into a heap buffer and verifies the checksum before decoding;
+ * the file is not memory-mapped, so no mapping keeps it locked once load returns.
+ */
+public class ContactSnapshot {
+
+    private static final int MAGIC = 0x4D504353; // "MPCS"
+    private static final short VERSION = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private ContactSnapshot() {
+    }
+
+    /**
+     * Writes all contacts of the phone, in insertion order, to the file.
+     * The snapshot is written to a temporary file first and moved into place,
+     * so readers never see a half-written snapshot.
+     */
+    public static void save(MobilePhone phone, Path file) throws IOException {
+        save(phone.getMyNumber(), phone.getContactsView(), file);
+    }
+
+    /**
+     * Writes the given owner number and contacts to the file, same layout as save(MobilePhone, Path)
+     */
+    public static void save(String myNumber, List<Contact> contacts, Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Path tempFile = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        boolean moved = false;
+        try {
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                SnapshotWriter writer = new SnapshotWriter(channel);
+                writer.putInt(MAGIC);
+                writer.putShort(VERSION);
+                writer.putString(myNumber);
+                writer.putInt(contacts.size());
+                for (Contact contact : contacts) {
+                    writer.putString(contact.getName());
+                    writer.putString(contact.getPhoneNumber());
+                }
+                writer.finish();
+                channel.force(true);
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            moved = true;
+        } finally {
+            if (!moved) {
+                Files.deleteIfExists(tempFile);
+            }
+        }
+    }
+
+    /**
+     * Reads a snapshot into a new MobilePhone.
+     * Throws IOException if the file is truncated, corrupted or of an unknown version.
+     */
+    public static MobilePhone load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < 14) {
+                throw new IOException("Snapshot '" + file + "' is truncated");
+            }
+            if (fileSize > Integer.MAX_VALUE - 8) {
+                throw new IOException("Snapshot '" + file + "' is too large to load: " + fileSize + " bytes");
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) fileSize);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("Snapshot '" + file + "' is truncated");
+                }
+            }
+            buffer.flip();
+
+            int payloadSize = (int) fileSize - 4;
+            CRC32 crc = new CRC32();
+            ByteBuffer payload = buffer.duplicate();
+            payload.limit(payloadSize);
+            crc.update(payload);
+            if ((int) crc.getValue() != buffer.getInt(payloadSize)) {
+                throw new IOException("Snapshot '" + file + "' failed checksum verification");
+            }
+
+            buffer.limit(payloadSize);
+            try {
+                if (buffer.getInt() != MAGIC) {
+                    throw new IOException("'" + file + "' is not a contact snapshot");
+                }
+                short version = buffer.getShort();
+                if (version != VERSION) {
+                    throw new IOException("Unsupported snapshot version " + version + " in '" + file + "'");
+                }
+                SnapshotReader reader = new SnapshotReader(buffer);
+                MobilePhone phone = new MobilePhone(reader.getString());
+                int count = buffer.getInt();
+                // Every contact takes at least four bytes, which bounds the list for a corrupt count
+                List<Contact> contacts = new ArrayList<>(Math.max(0, Math.min(count, buffer.remaining() / 4)));
+                for (int i = 0; i < count; i++) {
+                    contacts.add(new Contact(reader.getString(), reader.getString()));
+                }
+                phone.bulkAddContacts(contacts);
+                if (buffer.hasRemaining()) {
+                    throw new IOException("Snapshot '" + file + "' has trailing data after " + count + " contacts");
+                }
+                return phone;
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                throw new IOException("Snapshot '" + file + "' is malformed: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Buffered writer that tracks the CRC32 of everything it writes
+     */
+    private static final class SnapshotWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final CRC32 crc = new CRC32();
+
+        SnapshotWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(4);
+            buffer.putInt(value);
+        }
+
+        void putShort(short value) throws IOException {
+            ensure(2);
+            buffer.putShort(value);
+        }
+
+        void putString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            ensure(5);
+            int length = bytes.length;
+            while ((length & ~0x7F) != 0) {
+                buffer.put((byte) ((length & 0x7F) | 0x80));
+                length >>>= 7;
+            }
+            buffer.put((byte) length);
+            for (int offset = 0; offset < bytes.length; ) {
+                ensure(1);
+                int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, chunk);
+                offset += chunk;
+            }
+        }
+
+        void finish() throws IOException {
+            flush();
+            buffer.putInt((int) crc.getValue());
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Decodes varint-prefixed UTF-8 strings, reusing one scratch array
+     */
+    private static final class SnapshotReader {
+        private final ByteBuffer buffer;
+        private byte[] scratch = new byte[256];
+
+        SnapshotReader(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        String getString() {
+            int length = 0;
+            int shift = 0;
+            byte b;
+            do {
+                if (shift > 28) {
+                    throw new IllegalArgumentException("string length varint is too long");
+                }
+                b = buffer.get();
+                length |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            if (length < 0 || length > buffer.remaining()) {
+                throw new IllegalArgumentException("string length " + length + " exceeds remaining data");
+            }
+            if (length > scratch.length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            buffer.get(scratch, 0, length);
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.qaautomation.contactmanager.persistence;
+
+import com.qaautomation.contactmanager.Contact;
+import com.qaautomation.contactmanager.MobilePhone;
+import com.qaautomation.contactmanager.index.ContactKeys;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MobilePhone whose mutations are journaled to disk so they survive a crash.
+ *
+ * The directory holds numbered journal segments and snapshots; snapshot N contains the
+ * state at the start of segment N. On open, the newest snapshot is loaded and every
+ * segment from its generation onwards is replayed. A background task compacts the log
+ * once the active segment grows past a threshold: it switches to a new segment, writes
+ * a snapshot of the current state for it and deletes everything older.
+ *
+ * Each mutation is checked against the current state, queued in the journal and only then
+ * applied, so a journal that refuses the record (closed or failed) leaves memory unchanged.
+ * Mutating methods are synchronized so the journal order always matches the order in
+ * which changes were applied. Read methods are not: like MobilePhone, the phonebook is meant
+ * for one thread at a time, and a caller that reads while other threads write must hold the
+ * phone's monitor for the read. Call close() to flush the journal and stop compaction.
+ */
+public class JournaledMobilePhone extends MobilePhone implements Closeable {
+
+    /**
+     * SYNC: each mutation returns once its record is fsynced (batched with concurrent writers).
+     * ASYNC: mutations return immediately; the writer fsyncs in the background.
+     */
+    public enum Durability { SYNC, ASYNC }
+
+    public static final long DEFAULT_COMPACTION_THRESHOLD_BYTES = 64L * 1024 * 1024;
+    private static final long COMPACTION_CHECK_SECONDS = 5;
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+
+    private final Path directory;
+    private final Durability durability;
+    private final long compactionThresholdBytes;
+    private final ContactJournal journal;
+    private final ScheduledExecutorService compactor;
+    private final Object compactionLock = new Object();
+    // Generation of the segment new records go to; guarded by this
+    private long activeGeneration;
+
+    private JournaledMobilePhone(String myNumber, Path directory, Durability durability,
+                                 long compactionThresholdBytes) throws IOException {
+        super(myNumber);
+        this.directory = directory;
+        this.durability = durability;
+        this.compactionThresholdBytes = compactionThresholdBytes;
+
+        this.activeGeneration = recover();
+        this.journal = new ContactJournal(directory, activeGeneration);
+        this.compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "contact-journal-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        compactor.scheduleWithFixedDelay(this::compactIfNeeded,
+                COMPACTION_CHECK_SECONDS, COMPACTION_CHECK_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Opens (or creates) a journaled phonebook in the directory with SYNC durability
+     */
+    public static JournaledMobilePhone open(String myNumber, Path directory) throws IOException {
+        return open(myNumber, directory, Durability.SYNC, DEFAULT_COMPACTION_THRESHOLD_BYTES);
+    }
+
+    public static JournaledMobilePhone open(String myNumber, Path directory, Durability durability,
+                                            long compactionThresholdBytes) throws IOException {
+        Files.createDirectories(directory);
+        return new JournaledMobilePhone(myNumber, directory, durability, compactionThresholdBytes);
+    }
+
+    /**
+     * Rebuilds state from the newest snapshot plus the segments after it.
+     * Returns the generation for the new active segment.
+     */
+    private long recover() throws IOException {
+        List<Long> snapshots = ContactJournal.listGenerations(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        long baseGeneration = 0;
+        if (!snapshots.isEmpty()) {
+            baseGeneration = snapshots.get(snapshots.size() - 1);
+            for (Contact contact : ContactSnapshot.load(snapshotPath(baseGeneration)).getContactsView()) {
+                super.addNewContact(contact);
+            }
+        }
+
+        List<Long> segments = new ArrayList<>();
+        for (long segment : ContactJournal.listSegments(directory)) {
+            if (segment >= baseGeneration) {
+                segments.add(segment);
+            }
+        }
+        for (int i = 0; i < segments.size(); i++) {
+            Path segment = ContactJournal.segmentPath(directory, segments.get(i));
+            long validBytes = ContactJournal.replayValidPrefix(segment, this::applyRecord);
+            if (validBytes < Files.size(segment)) {
+                if (i < segments.size() - 1) {
+                    // Newer segments depend on the records lost here; replaying them would build a wrong state
+                    throw new IOException("Journal segment " + segment + " is corrupted at byte " + validBytes
+                            + " and is followed by newer segments");
+                }
+                // Tail torn by a crash; cut it off so the segment stays valid once it is no longer the last one
+                ContactJournal.truncate(segment, validBytes);
+            }
+        }
+        return segments.isEmpty() ? baseGeneration + 1 : segments.get(segments.size() - 1) + 1;
+    }
+
+    private void applyRecord(byte type, String[] fields) {
+        switch (type) {
+            case ContactJournal.ADD:
+                super.addNewContact(new Contact(fields[0], fields[1]));
+                break;
+            case ContactJournal.UPDATE:
+                super.updateContact(new Contact(fields[0], fields[2]), new Contact(fields[1], fields[2]));
+                break;
+            case ContactJournal.REMOVE:
+                super.removeContact(new Contact(fields[0], fields[1]));
+                break;
+            case ContactJournal.CLEAR:
+                super.clearAllContacts();
+                break;
+            default:
+                throw new IllegalStateException("Unknown journal record type: " + type);
+        }
+    }
+
+    private void awaitDurable(long sequence) {
+        if (durability == Durability.SYNC) {
+            journal.awaitDurable(sequence);
+        }
+    }
+
+    @Override
+    public boolean addNewContact(Contact contact) {
+        long sequence;
+        synchronized (this) {
+            if (lookup(contact.getName()) != null) {
+                // Rejected: nothing to journal, the superclass only records the failure
+                return super.addNewContact(contact);
+            }
+            sequence = journal.append(ContactJournal.ADD, contact.getName(), contact.getPhoneNumber());
+            super.addNewContact(contact);
+        }
+        awaitDurable(sequence);
+        return true;
+    }
+
+    @Override
+    public boolean updateContact(Contact oldContact, Contact newContact) {
+        long sequence;
+        synchronized (this) {
+            Contact existing = lookup(oldContact.getName());
+            Contact nameHolder = lookup(newContact.getName());
+            if (existing == null || (nameHolder != null && nameHolder != existing)) {
+                return super.updateContact(oldContact, newContact);
+            }
+            sequence = journal.append(ContactJournal.UPDATE,
+                    oldContact.getName(), newContact.getName(), newContact.getPhoneNumber());
+            super.updateContact(oldContact, newContact);
+        }
+        awaitDurable(sequence);
+        return true;
+    }
+
+    @Override
+    public boolean removeContact(Contact contact) {
+        long sequence;
+        synchronized (this) {
+            if (lookup(contact.getName()) == null) {
+                return super.removeContact(contact);
+            }
+            sequence = journal.append(ContactJournal.REMOVE, contact.getName(), contact.getPhoneNumber());
+            super.removeContact(contact);
+        }
+        awaitDurable(sequence);
+        return true;
+    }
+
+    /**
+     * Bulk add with a single durability wait for the whole batch; the batch's records are
+     * queued together, so either all of them are journaled and applied or none
+     */
+    @Override
+    public BulkAddResult bulkAddContacts(Collection<Contact> contacts) {
+        BulkAddResult result;
+        long sequence = 0;
+        synchronized (this) {
+            // Same selection as the superclass: new names only, first occurrence in the batch wins
+            List<String[]> records = new ArrayList<>();
+            Set<String> batchNames = new HashSet<>();
+            for (Contact contact : contacts) {
+                if (lookup(contact.getName()) == null && batchNames.add(ContactKeys.nameKey(contact.getName()))) {
+                    records.add(new String[] {contact.getName(), contact.getPhoneNumber()});
+                }
+            }
+            if (!records.isEmpty()) {
+                sequence = journal.appendAll(ContactJournal.ADD, records);
+            }
+            result = super.bulkAddContacts(contacts);
+        }
+        awaitDurable(sequence);
+        return result;
+    }
+
+    @Override
+    public void clearAllContacts() {
+        long sequence;
+        synchronized (this) {
+            sequence = journal.append(ContactJournal.CLEAR);
+            super.clearAllContacts();
+        }
+        awaitDurable(sequence);
+    }
+
+    /**
+     * Replaces the journal history with a snapshot of the current state.
+     * Mutations are blocked only while the state is captured, not while the snapshot is written.
+     */
+    public void compact() throws IOException {
+        synchronized (compactionLock) {
+            List<Contact> contacts;
+            long newGeneration;
+            long rotation;
+            synchronized (this) {
+                // Copy-on-write view: O(1) here, the next mutation pays for the copy
+                contacts = getContactsView();
+                newGeneration = ++activeGeneration;
+                rotation = journal.rotate(newGeneration);
+            }
+            journal.awaitDurable(rotation);
+            ContactSnapshot.save(getMyNumber(), contacts, snapshotPath(newGeneration));
+
+            for (long segment : ContactJournal.listSegments(directory)) {
+                if (segment < newGeneration) {
+                    Files.deleteIfExists(ContactJournal.segmentPath(directory, segment));
+                }
+            }
+            for (long snapshot : ContactJournal.listGenerations(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+                if (snapshot < newGeneration) {
+                    Files.deleteIfExists(snapshotPath(snapshot));
+                }
+            }
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (journal.getSegmentBytes() < compactionThresholdBytes) {
+            return;
+        }
+        try {
+            compact();
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Contact journal compaction failed: " + e.getMessage());
+        }
+    }
+
+    private Path snapshotPath(long generation) {
+        return directory.resolve(SNAPSHOT_PREFIX + String.format("%019d", generation) + SNAPSHOT_SUFFIX);
+    }
+
+    /**
+     * Stops background compaction and flushes the journal to disk
+     */
+    @Override
+    public void close() throws IOException {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        journal.close();
+    }
+}
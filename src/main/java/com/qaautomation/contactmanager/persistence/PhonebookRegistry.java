@@ -0,0 +1,452 @@
+package com.qaautomation.contactmanager.persistence;
+
+import com.qaautomation.contactmanager.MobilePhone;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * One MobilePhone per subscriber number, for more phonebooks than fit on the heap at once.
+ *
+ * Resident phonebooks are weighed with a rough heap estimate (PHONE_BYTES plus CONTACT_BYTES
+ * per contact; secondary indexes built by searches are not counted). When the total exceeds
+ * the budget, cold phonebooks are written to a ContactSnapshot under the registry directory,
+ * only if they changed since they were loaded, and dropped from the heap. The next access
+ * reloads them transparently; numbers without a snapshot start as empty phones.
+ *
+ * Eviction is W-TinyLFU: phonebooks enter a small LRU window (1% of the budget), and one
+ * leaving the window is only admitted to the main LRU region if it was accessed more often
+ * than the main region's eviction victim; otherwise it is evicted itself. Access frequencies
+ * live in a count-min sketch that also counts evicted numbers and is halved periodically, so
+ * a burst of one-off lookups cannot flush the phonebooks that are used every day.
+ *
+ * Phonebooks are only reachable inside withPhone, which pins them against eviction and runs
+ * calls for the same number one at a time. Calls for different numbers run in parallel, and
+ * snapshots are read and written outside the registry lock.
+ */
+public class PhonebookRegistry {
+
+    // Heap estimate of an empty phone and of a contact with typical name and number lengths
+    static final long PHONE_BYTES = 256;
+    static final long CONTACT_BYTES = 256;
+
+    private static final String SNAPSHOT_SUFFIX = ".mpcs";
+    private static final int WINDOW_PERCENT = 1;
+
+    private final Path directory;
+    private final long heapBudgetBytes;
+    private final long windowBudgetBytes;
+
+    // Guarded by this: numbers in use or resident, and the resident ones in LRU order per region
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final LinkedHashSet<Entry> window = new LinkedHashSet<>();
+    private final LinkedHashSet<Entry> main = new LinkedHashSet<>();
+    private final FrequencySketch sketch = new FrequencySketch();
+    private long windowBytes;
+    private long residentBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong snapshotWrites = new AtomicLong();
+    private final AtomicLong failedEvictions = new AtomicLong();
+
+    /**
+     * @param directory where snapshots of evicted phonebooks are kept; created on first eviction
+     * @param heapBudgetBytes estimated heap the resident phonebooks may use together
+     */
+    public PhonebookRegistry(Path directory, long heapBudgetBytes) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Registry directory cannot be null");
+        }
+        if (heapBudgetBytes < 0) {
+            throw new IllegalArgumentException("Heap budget cannot be negative: " + heapBudgetBytes);
+        }
+        this.directory = directory;
+        this.heapBudgetBytes = heapBudgetBytes;
+        this.windowBudgetBytes = heapBudgetBytes / 100 * WINDOW_PERCENT;
+    }
+
+    /**
+     * Runs the action on the subscriber's phonebook, loading it first if it was evicted,
+     * and returns its result. The phonebook cannot be evicted while the action runs; it must
+     * not be used after the action returns, and the action must not call back into the registry.
+     * Throws IOException if the phonebook's snapshot cannot be read.
+     */
+    public <T> T withPhone(String myNumber, Function<? super MobilePhone, ? extends T> action) throws IOException {
+        if (myNumber == null || myNumber.trim().isEmpty()) {
+            throw new IllegalArgumentException("Phone number cannot be null or empty");
+        }
+        String number = myNumber.trim();
+        Entry entry;
+        synchronized (this) {
+            entry = entries.computeIfAbsent(number, Entry::new);
+            entry.pins++;
+            sketch.increment(number);
+        }
+
+        long weight = -1;
+        try {
+            synchronized (entry) {
+                if (entry.phone == null) {
+                    misses.incrementAndGet();
+                    load(entry);
+                } else {
+                    hits.incrementAndGet();
+                }
+                try {
+                    return action.apply(entry.phone);
+                } finally {
+                    weight = estimateHeapBytes(entry.phone);
+                }
+            }
+        } finally {
+            evict(release(entry, weight));
+        }
+    }
+
+    /**
+     * Writes every resident phonebook that changed since it was loaded or last written,
+     * e.g. before shutdown. Phonebooks stay resident.
+     */
+    public void flush() throws IOException {
+        List<Entry> resident;
+        synchronized (this) {
+            resident = new ArrayList<>(window);
+            resident.addAll(main);
+            for (Entry entry : resident) {
+                entry.pins++;
+            }
+        }
+        try {
+            for (Entry entry : resident) {
+                synchronized (entry) {
+                    if (entry.phone != null) {
+                        save(entry);
+                    }
+                }
+            }
+        } finally {
+            synchronized (this) {
+                for (Entry entry : resident) {
+                    entry.pins--;
+                }
+            }
+        }
+    }
+
+    public long getHeapBudgetBytes() {
+        return heapBudgetBytes;
+    }
+
+    public synchronized Stats getStats() {
+        return new Stats(hits.get(), misses.get(), evictions.get(), snapshotWrites.get(),
+                failedEvictions.get(), window.size() + main.size(), residentBytes);
+    }
+
+    /**
+     * Snapshot file of a number: URL-encoded, in one of 256 subdirectories
+     * so that millions of subscribers do not share a single directory
+     */
+    Path snapshotFile(String number) {
+        String shard = String.format("%02x", FrequencySketch.spread(number) & 0xFF);
+        String fileName = URLEncoder.encode(number, StandardCharsets.UTF_8).replace("*", "%2A");
+        return directory.resolve(shard).resolve(fileName + SNAPSHOT_SUFFIX);
+    }
+
+    private static long estimateHeapBytes(MobilePhone phone) {
+        return PHONE_BYTES + CONTACT_BYTES * phone.getContactCount();
+    }
+
+    // ---- loading and saving, under the entry's monitor ----
+
+    private void load(Entry entry) throws IOException {
+        Path file = snapshotFile(entry.number);
+        MobilePhone phone;
+        if (Files.exists(file)) {
+            phone = ContactSnapshot.load(file);
+            if (!phone.getMyNumber().equals(entry.number)) {
+                throw new IOException("Snapshot '" + file + "' belongs to " + phone.getMyNumber()
+                        + ", not " + entry.number);
+            }
+        } else {
+            phone = new MobilePhone(entry.number);
+        }
+        entry.phone = phone;
+        entry.savedModificationCount = phone.getModificationCount();
+    }
+
+    private void save(Entry entry) throws IOException {
+        long modificationCount = entry.phone.getModificationCount();
+        if (modificationCount == entry.savedModificationCount) {
+            return;
+        }
+        Path file = snapshotFile(entry.number);
+        Files.createDirectories(file.getParent());
+        ContactSnapshot.save(entry.phone, file);
+        entry.savedModificationCount = modificationCount;
+        snapshotWrites.incrementAndGet();
+    }
+
+    // ---- eviction policy, under the registry lock ----
+
+    /**
+     * Unpins the entry, records its new weight and returns the entries to evict.
+     * A negative weight means the phonebook could not be loaded.
+     */
+    private synchronized List<Entry> release(Entry entry, long weight) {
+        entry.pins--;
+        if (weight < 0) {
+            if (entry.pins == 0 && entry.region == null) {
+                entries.remove(entry.number);
+            }
+            return Collections.emptyList();
+        }
+
+        if (entry.region == null) {
+            entry.weight = weight;
+            admit(entry, window);
+        } else {
+            entry.region.remove(entry);
+            entry.region.add(entry);
+            residentBytes += weight - entry.weight;
+            if (entry.region == window) {
+                windowBytes += weight - entry.weight;
+            }
+            entry.weight = weight;
+        }
+        sketch.ensureCapacity(window.size() + main.size());
+        return selectVictims();
+    }
+
+    private List<Entry> selectVictims() {
+        List<Entry> victims = new ArrayList<>();
+        // Phonebooks leaving the window compete with the main region's LRU for a place in it
+        while (windowBytes > windowBudgetBytes) {
+            Entry candidate = leastRecentUnpinned(window);
+            if (candidate == null) {
+                break;
+            }
+            discard(candidate);
+            if (residentBytes + candidate.weight > heapBudgetBytes) {
+                Entry victim = leastRecentUnpinned(main);
+                if (victim == null || sketch.frequency(candidate.number) <= sketch.frequency(victim.number)) {
+                    victims.add(candidate);
+                    continue;
+                }
+                discard(victim);
+                victims.add(victim);
+            }
+            admit(candidate, main);
+        }
+        while (residentBytes > heapBudgetBytes) {
+            Entry victim = leastRecentUnpinned(main);
+            if (victim == null) {
+                victim = leastRecentUnpinned(window);
+            }
+            if (victim == null) {
+                break;
+            }
+            discard(victim);
+            victims.add(victim);
+        }
+        return victims;
+    }
+
+    private void admit(Entry entry, LinkedHashSet<Entry> region) {
+        region.add(entry);
+        entry.region = region;
+        residentBytes += entry.weight;
+        if (region == window) {
+            windowBytes += entry.weight;
+        }
+    }
+
+    private void discard(Entry entry) {
+        entry.region.remove(entry);
+        residentBytes -= entry.weight;
+        if (entry.region == window) {
+            windowBytes -= entry.weight;
+        }
+        entry.region = null;
+    }
+
+    private static Entry leastRecentUnpinned(LinkedHashSet<Entry> region) {
+        for (Entry entry : region) {
+            if (entry.pins == 0) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Writes the victims' snapshots and drops them from the heap. A victim that was pinned
+     * again meanwhile stays resident; its next release re-admits it. A victim whose snapshot
+     * cannot be written stays resident too and is counted as a failed eviction.
+     */
+    private void evict(List<Entry> victims) {
+        for (Entry victim : victims) {
+            synchronized (victim) {
+                synchronized (this) {
+                    if (victim.pins > 0 || victim.region != null) {
+                        continue;
+                    }
+                }
+                if (victim.phone == null) {
+                    continue;
+                }
+                try {
+                    save(victim);
+                } catch (IOException | RuntimeException e) {
+                    failedEvictions.incrementAndGet();
+                    synchronized (this) {
+                        admit(victim, main);
+                    }
+                    continue;
+                }
+                victim.phone = null;
+                evictions.incrementAndGet();
+                synchronized (this) {
+                    if (victim.pins == 0 && victim.region == null) {
+                        entries.remove(victim.number);
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+        final String number;
+        // Guarded by the entry's monitor
+        MobilePhone phone;
+        long savedModificationCount;
+        // Guarded by the registry
+        int pins;
+        long weight;
+        LinkedHashSet<Entry> region;
+
+        Entry(String number) {
+            this.number = number;
+        }
+    }
+
+    /**
+     * Count-min sketch of recent access frequencies: four 4-bit counters per number
+     * (saturating at 15), all halved once the number of increments reaches the table size
+     * so that old popularity fades. Not thread-safe; guarded by the registry.
+     */
+    static final class FrequencySketch {
+        private static final long[] SEEDS = {
+                0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+        private static final int MIN_WIDTH = 1024;
+
+        private byte[] counters = new byte[MIN_WIDTH];
+        private int additions;
+
+        /**
+         * Grows the table to about 16 counters per resident phonebook; growing forgets all counts
+         */
+        void ensureCapacity(int residentCount) {
+            int width = Integer.highestOneBit(Math.max(MIN_WIDTH, residentCount * 16) - 1) << 1;
+            if (width > counters.length) {
+                counters = new byte[width];
+                additions = 0;
+            }
+        }
+
+        void increment(String key) {
+            int hash = spread(key);
+            boolean added = false;
+            for (int i = 0; i < SEEDS.length; i++) {
+                int index = index(hash, i);
+                if (counters[index] < 15) {
+                    counters[index]++;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= counters.length) {
+                for (int i = 0; i < counters.length; i++) {
+                    counters[i] >>= 1;
+                }
+                additions /= 2;
+            }
+        }
+
+        int frequency(String key) {
+            int hash = spread(key);
+            int frequency = 15;
+            for (int i = 0; i < SEEDS.length; i++) {
+                frequency = Math.min(frequency, counters[index(hash, i)]);
+            }
+            return frequency;
+        }
+
+        private int index(int hash, int row) {
+            long h = (hash + SEEDS[row]) * SEEDS[row];
+            h += h >>> 32;
+            return (int) h & (counters.length - 1);
+        }
+
+        static int spread(String key) {
+            int h = key.hashCode() * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+
+    /**
+     * Counters since the registry was created, plus the current resident set
+     */
+    public static class Stats {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long snapshotWrites;
+        private final long failedEvictions;
+        private final int residentPhones;
+        private final long residentBytes;
+
+        Stats(long hits, long misses, long evictions, long snapshotWrites, long failedEvictions,
+              int residentPhones, long residentBytes) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.snapshotWrites = snapshotWrites;
+            this.failedEvictions = failedEvictions;
+            this.residentPhones = residentPhones;
+            this.residentBytes = residentBytes;
+        }
+
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getEvictions() { return evictions; }
+        public long getSnapshotWrites() { return snapshotWrites; }
+        public long getFailedEvictions() { return failedEvictions; }
+        public int getResidentPhones() { return residentPhones; }
+        public long getResidentBytes() { return residentBytes; }
+
+        public double getHitRate() {
+            long accesses = hits + misses;
+            return accesses == 0 ? 0 : (double) hits / accesses;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d hits, %d misses (%.1f%% hit rate), %d evictions, %d snapshot writes, "
+                            + "%d failed evictions, %d phones resident (~%d KB)",
+                    hits, misses, getHitRate() * 100, evictions, snapshotWrites, failedEvictions,
+                    residentPhones, residentBytes / 1024);
+        }
+    }
+}
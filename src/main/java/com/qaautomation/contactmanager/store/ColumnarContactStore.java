@@ -0,0 +1,285 @@
+package com.qaautomation.contactmanager.store;
+
+import com.qaautomation.contactmanager.Contact;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Memory-compact store that keeps contacts as packed bytes instead of objects.
+ *
+ * Every contact is one record in a shared byte array (see ContactRecords): the name as
+ * Latin-1 (or UTF-16 when it needs to), followed by the phone number packed two characters
+ * per byte when it only uses digits and the usual separators ("+-() ."). A slot table maps
+ * insertion position to record offset, and an open-addressing hash table maps name keys to
+ * slots, so a contact costs roughly its encoded bytes plus 12-16 bytes of tables instead
+ * of three objects.
+ *
+ * Contact objects are materialized on access; every get() returns a new instance.
+ * Updates append a new record and removals leave a hole; the byte array and slot table
+ * are compacted once more than half of them is garbage.
+ */
+public class ColumnarContactStore implements ContactStore {
+
+    private static final int DEAD = -1;
+    private static final int MIN_COMPACTION_BYTES = 4096;
+
+    private byte[] data = new byte[1024];
+    private int dataSize;
+    private int garbageBytes;
+
+    // Slot (insertion position) -> record offset, or DEAD; and the hash of its name key
+    private int[] recordOffsets = new int[64];
+    private int[] keyHashes = new int[64];
+    private int slotCount;
+    private int liveCount;
+
+    // Name key hash table with linear probing; entries are slot + 1, 0 means empty
+    private int[] table = new int[128];
+
+    @Override
+    public int size() {
+        return liveCount;
+    }
+
+    @Override
+    public Contact get(String nameKey) {
+        int bucket = findBucket(nameKey, hash(nameKey));
+        return bucket < 0 ? null : materialize(table[bucket] - 1);
+    }
+
+    @Override
+    public boolean contains(String nameKey) {
+        return findBucket(nameKey, hash(nameKey)) >= 0;
+    }
+
+    @Override
+    public boolean add(String nameKey, Contact contact) {
+        int hash = hash(nameKey);
+        if (findBucket(nameKey, hash) >= 0) {
+            return false;
+        }
+        if (slotCount == recordOffsets.length) {
+            recordOffsets = Arrays.copyOf(recordOffsets, slotCount * 2);
+            keyHashes = Arrays.copyOf(keyHashes, slotCount * 2);
+        }
+        int slot = slotCount++;
+        recordOffsets[slot] = writeRecord(contact);
+        keyHashes[slot] = hash;
+        liveCount++;
+        insert(slot, hash);
+        return true;
+    }
+
+    @Override
+    public Contact replace(String oldKey, String newKey, Contact contact) {
+        int bucket = findBucket(oldKey, hash(oldKey));
+        if (bucket < 0) {
+            return null;
+        }
+        int slot = table[bucket] - 1;
+        Contact existing = materialize(slot);
+        deleteBucket(bucket);
+
+        int newHash = hash(newKey);
+        garbageBytes += recordLength(recordOffsets[slot]);
+        recordOffsets[slot] = writeRecord(contact);
+        keyHashes[slot] = newHash;
+        insert(slot, newHash);
+        compactIfNeeded();
+        return existing;
+    }
+
+    @Override
+    public Contact remove(String nameKey) {
+        int bucket = findBucket(nameKey, hash(nameKey));
+        if (bucket < 0) {
+            return null;
+        }
+        int slot = table[bucket] - 1;
+        Contact existing = materialize(slot);
+        deleteBucket(bucket);
+
+        garbageBytes += recordLength(recordOffsets[slot]);
+        recordOffsets[slot] = DEAD;
+        liveCount--;
+        compactIfNeeded();
+        return existing;
+    }
+
+    @Override
+    public void forEach(Consumer<? super Contact> action) {
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (recordOffsets[slot] != DEAD) {
+                action.accept(materialize(slot));
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        data = new byte[1024];
+        dataSize = 0;
+        garbageBytes = 0;
+        recordOffsets = new int[64];
+        keyHashes = new int[64];
+        slotCount = 0;
+        liveCount = 0;
+        table = new int[128];
+    }
+
+    @Override
+    public void ensureCapacity(int additionalContacts) {
+        int required = slotCount + additionalContacts;
+        if (required > recordOffsets.length) {
+            recordOffsets = Arrays.copyOf(recordOffsets, required);
+            keyHashes = Arrays.copyOf(keyHashes, required);
+        }
+        int tableCapacity = tableCapacityFor(liveCount + additionalContacts);
+        if (tableCapacity > table.length) {
+            rebuildTable(tableCapacity);
+        }
+    }
+
+    /**
+     * Bytes held by the store's arrays, for capacity planning
+     */
+    public long getFootprintBytes() {
+        return (long) data.length + 4L * recordOffsets.length + 4L * keyHashes.length + 4L * table.length;
+    }
+
+    // ---- hash table ----
+
+    private static int hash(String nameKey) {
+        int h = nameKey.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Smallest power of two keeping the given number of entries at a load factor of 2/3
+     */
+    static int tableCapacityFor(int entries) {
+        long needed = entries * 3L / 2 + 1;
+        return (int) Math.min(1 << 30, Long.highestOneBit(needed - 1) << 1);
+    }
+
+    /**
+     * Returns the table position holding the key, or -1
+     */
+    private int findBucket(String nameKey, int hash) {
+        int mask = table.length - 1;
+        for (int bucket = hash & mask; ; bucket = (bucket + 1) & mask) {
+            int entry = table[bucket];
+            if (entry == 0) {
+                return -1;
+            }
+            int slot = entry - 1;
+            if (keyHashes[slot] == hash && nameMatches(recordOffsets[slot], nameKey)) {
+                return bucket;
+            }
+        }
+    }
+
+    private void insert(int slot, int hash) {
+        // Keep the load factor at or below 2/3
+        if ((liveCount + 1) * 3L > table.length * 2L) {
+            rebuildTable(table.length * 2);
+            return;
+        }
+        int mask = table.length - 1;
+        int bucket = hash & mask;
+        while (table[bucket] != 0) {
+            bucket = (bucket + 1) & mask;
+        }
+        table[bucket] = slot + 1;
+    }
+
+    /**
+     * Empties a bucket and shifts later entries of the same probe run back,
+     * so lookups never need tombstones
+     */
+    private void deleteBucket(int bucket) {
+        int mask = table.length - 1;
+        int hole = bucket;
+        for (int next = (hole + 1) & mask; table[next] != 0; next = (next + 1) & mask) {
+            int home = keyHashes[table[next] - 1] & mask;
+            boolean canMove = hole <= next ? (home <= hole || home > next) : (home <= hole && home > next);
+            if (canMove) {
+                table[hole] = table[next];
+                hole = next;
+            }
+        }
+        table[hole] = 0;
+    }
+
+    private void rebuildTable(int capacity) {
+        table = new int[capacity];
+        int mask = capacity - 1;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (recordOffsets[slot] == DEAD) {
+                continue;
+            }
+            int bucket = keyHashes[slot] & mask;
+            while (table[bucket] != 0) {
+                bucket = (bucket + 1) & mask;
+            }
+            table[bucket] = slot + 1;
+        }
+    }
+
+    // ---- records ----
+
+    private void compactIfNeeded() {
+        boolean bytesWasted = garbageBytes > MIN_COMPACTION_BYTES && garbageBytes * 2 > dataSize;
+        boolean slotsWasted = slotCount > 64 && (slotCount - liveCount) * 2 > slotCount;
+        if (!bytesWasted && !slotsWasted) {
+            return;
+        }
+
+        byte[] compacted = new byte[Math.max(1024, (dataSize - garbageBytes) * 5 / 4)];
+        int compactedSize = 0;
+        int liveSlot = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            int offset = recordOffsets[slot];
+            if (offset == DEAD) {
+                continue;
+            }
+            int length = recordLength(offset);
+            System.arraycopy(data, offset, compacted, compactedSize, length);
+            recordOffsets[liveSlot] = compactedSize;
+            keyHashes[liveSlot] = keyHashes[slot];
+            compactedSize += length;
+            liveSlot++;
+        }
+        data = compacted;
+        dataSize = compactedSize;
+        garbageBytes = 0;
+        slotCount = liveSlot;
+        int slotCapacity = Math.max(64, liveSlot * 5 / 4);
+        recordOffsets = Arrays.copyOf(recordOffsets, slotCapacity);
+        keyHashes = Arrays.copyOf(keyHashes, slotCapacity);
+        rebuildTable(table.length);
+    }
+
+    private int writeRecord(Contact contact) {
+        int length = ContactRecords.encodedLength(contact);
+        if (dataSize + length > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, dataSize + length));
+        }
+        int offset = dataSize;
+        dataSize = ContactRecords.encode(contact, data, offset);
+        return offset;
+    }
+
+    private Contact materialize(int slot) {
+        return ContactRecords.decode(data, recordOffsets[slot]);
+    }
+
+    private boolean nameMatches(int offset, String nameKey) {
+        return ContactRecords.nameMatches(data, offset, nameKey);
+    }
+
+    private int recordLength(int offset) {
+        return ContactRecords.recordLength(data, offset);
+    }
+}
@@ -0,0 +1,199 @@
+package com.qaautomation.contactmanager.store;
+
+import com.qaautomation.contactmanager.Contact;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Byte encoding of a single contact, shared by the packed stores.
+ *
+ * Record layout: name header (varint: length << 1 | wide) | name chars |
+ * phone header (varint: length << 2 | mode) | phone chars.
+ * Names are Latin-1, or UTF-16BE when any char is above 0xFF. Phone numbers made only of
+ * digits and "+-() ." are packed two chars per byte; others fall back to Latin-1 or UTF-16BE.
+ */
+final class ContactRecords {
+
+    private static final String PACKED_ALPHABET = "0123456789+-() .";
+    private static final int PACKED = 0;
+    private static final int LATIN1 = 1;
+    private static final int UTF16 = 2;
+
+    private ContactRecords() {
+    }
+
+    static int encodedLength(Contact contact) {
+        String name = contact.getName();
+        String phone = contact.getPhoneNumber();
+        int nameBytes = isLatin1(name) ? name.length() : name.length() * 2;
+        int phoneMode = phoneMode(phone);
+        return varIntLength(name.length() << 1) + nameBytes
+                + varIntLength(phone.length() << 2) + phoneBytes(phone.length(), phoneMode);
+    }
+
+    /**
+     * Writes the record at the offset; the array must have room for encodedLength(contact).
+     * Returns the offset after the record.
+     */
+    static int encode(Contact contact, byte[] target, int offset) {
+        String name = contact.getName();
+        String phone = contact.getPhoneNumber();
+        boolean wideName = !isLatin1(name);
+        int phoneMode = phoneMode(phone);
+
+        int position = writeVarInt(target, offset, (name.length() << 1) | (wideName ? 1 : 0));
+        position = writeChars(target, position, name, wideName);
+        position = writeVarInt(target, position, (phone.length() << 2) | phoneMode);
+        if (phoneMode == PACKED) {
+            for (int i = 0; i < phone.length(); i += 2) {
+                int high = PACKED_ALPHABET.indexOf(phone.charAt(i));
+                int low = i + 1 < phone.length() ? PACKED_ALPHABET.indexOf(phone.charAt(i + 1)) : 0;
+                target[position++] = (byte) ((high << 4) | low);
+            }
+            return position;
+        }
+        return writeChars(target, position, phone, phoneMode == UTF16);
+    }
+
+    static Contact decode(byte[] source, int offset) {
+        int nameHeader = readVarInt(source, offset);
+        int position = offset + varIntLength(nameHeader);
+        int nameLength = nameHeader >>> 1;
+        boolean wideName = (nameHeader & 1) != 0;
+        String name = readChars(source, position, nameLength, wideName);
+        position += wideName ? nameLength * 2 : nameLength;
+
+        int phoneHeader = readVarInt(source, position);
+        position += varIntLength(phoneHeader);
+        int phoneLength = phoneHeader >>> 2;
+        int phoneMode = phoneHeader & 3;
+        String phone;
+        if (phoneMode == PACKED) {
+            char[] chars = new char[phoneLength];
+            for (int i = 0; i < phoneLength; i++) {
+                int packed = source[position + i / 2];
+                chars[i] = PACKED_ALPHABET.charAt((i & 1) == 0 ? (packed >>> 4) & 0xF : packed & 0xF);
+            }
+            phone = new String(chars);
+        } else {
+            phone = readChars(source, position, phoneLength, phoneMode == UTF16);
+        }
+        return new Contact(name, phone);
+    }
+
+    /**
+     * Compares the record's name against a name key, folding each stored char like
+     * ContactKeys.nameKey, without creating any objects
+     */
+    static boolean nameMatches(byte[] source, int offset, String nameKey) {
+        int nameHeader = readVarInt(source, offset);
+        int nameLength = nameHeader >>> 1;
+        if (nameLength != nameKey.length()) {
+            return false;
+        }
+        boolean wideName = (nameHeader & 1) != 0;
+        int position = offset + varIntLength(nameHeader);
+        for (int i = 0; i < nameLength; i++) {
+            char c = wideName
+                    ? (char) (((source[position + 2 * i] & 0xFF) << 8) | (source[position + 2 * i + 1] & 0xFF))
+                    : (char) (source[position + i] & 0xFF);
+            if (Character.toLowerCase(Character.toUpperCase(c)) != nameKey.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static int recordLength(byte[] source, int offset) {
+        int nameHeader = readVarInt(source, offset);
+        int nameLength = nameHeader >>> 1;
+        int position = offset + varIntLength(nameHeader) + ((nameHeader & 1) != 0 ? nameLength * 2 : nameLength);
+        int phoneHeader = readVarInt(source, position);
+        position += varIntLength(phoneHeader);
+        return position + phoneBytes(phoneHeader >>> 2, phoneHeader & 3) - offset;
+    }
+
+    private static int phoneMode(String phone) {
+        if (isPackable(phone)) {
+            return PACKED;
+        }
+        return isLatin1(phone) ? LATIN1 : UTF16;
+    }
+
+    private static int phoneBytes(int length, int mode) {
+        if (mode == PACKED) {
+            return (length + 1) / 2;
+        }
+        return mode == LATIN1 ? length : length * 2;
+    }
+
+    private static boolean isLatin1(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPackable(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (PACKED_ALPHABET.indexOf(value.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int writeChars(byte[] target, int position, String value, boolean wide) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (wide) {
+                target[position++] = (byte) (c >>> 8);
+            }
+            target[position++] = (byte) c;
+        }
+        return position;
+    }
+
+    private static String readChars(byte[] source, int position, int length, boolean wide) {
+        if (!wide) {
+            return new String(source, position, length, StandardCharsets.ISO_8859_1);
+        }
+        // Decoded by hand rather than as UTF-16BE so unpaired surrogates survive unchanged
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) (((source[position + 2 * i] & 0xFF) << 8) | (source[position + 2 * i + 1] & 0xFF));
+        }
+        return new String(chars);
+    }
+
+    private static int writeVarInt(byte[] target, int position, int value) {
+        while ((value & ~0x7F) != 0) {
+            target[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        target[position++] = (byte) value;
+        return position;
+    }
+
+    private static int readVarInt(byte[] source, int position) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = source[position++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    private static int varIntLength(int value) {
+        int length = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            length++;
+        }
+        return length;
+    }
+}
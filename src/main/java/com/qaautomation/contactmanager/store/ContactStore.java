@@ -0,0 +1,70 @@
+package com.qaautomation.contactmanager.store;
+
+import com.qaautomation.contactmanager.Contact;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Storage engine behind a MobilePhone: contacts in insertion order, addressed by their
+ * normalized name key (see ContactKeys.nameKey). MobilePhone computes the keys, enforces
+ * the uniqueness rules and maintains secondary indexes; a store only holds the data.
+ *
+ * Stores may keep contacts in any representation and return freshly materialized Contact
+ * objects, so callers must compare contacts by name, not by identity.
+ */
+public interface ContactStore {
+
+    int size();
+
+    /**
+     * Returns the contact stored under the key, or null
+     */
+    Contact get(String nameKey);
+
+    boolean contains(String nameKey);
+
+    /**
+     * Appends the contact unless the key is taken; returns false if it is
+     */
+    boolean add(String nameKey, Contact contact);
+
+    /**
+     * Replaces the contact stored under oldKey, keeping its position.
+     * The caller guarantees newKey is either oldKey or not in use.
+     * Returns the replaced contact, or null if oldKey is not stored.
+     */
+    Contact replace(String oldKey, String newKey, Contact contact);
+
+    /**
+     * Removes the contact stored under the key and returns it, or null
+     */
+    Contact remove(String nameKey);
+
+    /**
+     * Passes every contact to the action in insertion order.
+     * The store must not be modified until the call returns.
+     */
+    void forEach(Consumer<? super Contact> action);
+
+    void clear();
+
+    /**
+     * Hint that about this many more contacts are about to be added, so the store can size
+     * its tables once instead of growing them step by step. The default does nothing.
+     */
+    default void ensureCapacity(int additionalContacts) {
+    }
+
+    /**
+     * Read-only list of the current contacts that later changes to the store do not affect.
+     * This default copies the contacts; stores that can share their data override it.
+     */
+    default List<Contact> snapshot() {
+        List<Contact> copy = new ArrayList<>(size());
+        forEach(copy::add);
+        return Collections.unmodifiableList(copy);
+    }
+}
@@ -0,0 +1,238 @@
+package com.qaautomation.contactmanager.store;
+
+import com.qaautomation.contactmanager.Contact;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Default store: an array in insertion order plus a HashMap from name key to the contact's
+ * position in it, so lookups and in-place replacement are O(1) and removal only shifts the
+ * tail after the contact. Returns the Contact instances it was given.
+ *
+ * The array is copy-on-write with respect to snapshots: snapshot() hands out a read-only
+ * view of the current array without copying it, and the next replace or remove copies the
+ * array once before changing it. Appends write past the end of every snapshot, so they
+ * share the array too and only copy it when it is full. Reading the contacts repeatedly therefore costs nothing
+ * proportional to the phonebook size as long as no writes happen in between.
+ */
+public class ListContactStore implements ContactStore {
+
+    private static final Contact[] EMPTY = new Contact[0];
+
+    private static final Slot[] NO_SLOTS = new Slot[0];
+
+    private Contact[] contacts = EMPTY;
+    // slots[i] is the position holder of contacts[i]; never shared with snapshots
+    private Slot[] slots = NO_SLOTS;
+    private int size;
+    // True while a snapshot may be reading the current array
+    private boolean shared;
+    // Case-insensitive name -> position of the contact, kept in sync with contacts for O(1) lookups
+    private Map<String, Slot> contactIndex = new HashMap<>();
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Contact get(String nameKey) {
+        Slot slot = contactIndex.get(nameKey);
+        return slot == null ? null : contacts[slot.position];
+    }
+
+    @Override
+    public boolean contains(String nameKey) {
+        return contactIndex.containsKey(nameKey);
+    }
+
+    @Override
+    public boolean add(String nameKey, Contact contact) {
+        Slot slot = new Slot(size);
+        if (contactIndex.putIfAbsent(nameKey, slot) != null) {
+            return false;
+        }
+        if (size == contacts.length) {
+            contacts = Arrays.copyOf(contacts, Math.max(16, size + (size >> 1)));
+            shared = false;
+        }
+        // Otherwise a snapshot may share the array, but never sees positions at or past size
+        if (size == slots.length) {
+            slots = Arrays.copyOf(slots, contacts.length);
+        }
+        contacts[size] = contact;
+        slots[size] = slot;
+        size++;
+        return true;
+    }
+
+    @Override
+    public Contact replace(String oldKey, String newKey, Contact contact) {
+        Slot slot = contactIndex.remove(oldKey);
+        if (slot == null) {
+            return null;
+        }
+        Contact existing = contacts[slot.position];
+        unshare();
+        contacts[slot.position] = contact;
+        contactIndex.put(newKey, slot);
+        return existing;
+    }
+
+    @Override
+    public Contact remove(String nameKey) {
+        Slot slot = contactIndex.remove(nameKey);
+        if (slot == null) {
+            return null;
+        }
+        int position = slot.position;
+        Contact existing = contacts[position];
+        unshare();
+        int moved = size - position - 1;
+        System.arraycopy(contacts, position + 1, contacts, position, moved);
+        System.arraycopy(slots, position + 1, slots, position, moved);
+        // Only the shifted tail changes position
+        for (int i = position; i < size - 1; i++) {
+            slots[i].position = i;
+        }
+        size--;
+        contacts[size] = null;
+        slots[size] = null;
+        return existing;
+    }
+
+    @Override
+    public void forEach(Consumer<? super Contact> action) {
+        Contact[] elements = contacts;
+        int count = size;
+        for (int i = 0; i < count; i++) {
+            action.accept(elements[i]);
+        }
+    }
+
+    @Override
+    public void clear() {
+        // Snapshots keep the old array; no need to null it out
+        contacts = EMPTY;
+        slots = NO_SLOTS;
+        size = 0;
+        shared = false;
+        contactIndex.clear();
+    }
+
+    @Override
+    public void ensureCapacity(int additionalContacts) {
+        int required = size + additionalContacts;
+        if (required > contacts.length) {
+            contacts = Arrays.copyOf(contacts, required);
+            shared = false;
+        }
+        if (required > slots.length) {
+            slots = Arrays.copyOf(slots, required);
+        }
+        if (additionalContacts > size) {
+            // Rehash once into a table sized for the final count; HashMap cannot grow in place
+            Map<String, Slot> presized = new HashMap<>(hashCapacity(required));
+            presized.putAll(contactIndex);
+            contactIndex = presized;
+        }
+    }
+
+    private static int hashCapacity(int entries) {
+        return (int) Math.min(Integer.MAX_VALUE, entries * 4L / 3 + 1);
+    }
+
+    /**
+     * Read-only view of the current contacts; O(1), later changes to the store are not visible in it
+     */
+    @Override
+    public List<Contact> snapshot() {
+        if (size == 0) {
+            return new SnapshotList(EMPTY, 0, 0);
+        }
+        shared = true;
+        return new SnapshotList(contacts, 0, size);
+    }
+
+    private void unshare() {
+        if (shared) {
+            contacts = contacts.clone();
+            shared = false;
+        }
+    }
+
+    /**
+     * Position of a contact in the array; one per contact, re-keyed on rename
+     */
+    private static final class Slot {
+        int position;
+
+        Slot(int position) {
+            this.position = position;
+        }
+    }
+
+    /**
+     * Immutable window over an array the store no longer writes to
+     */
+    private static final class SnapshotList extends AbstractList<Contact> implements RandomAccess {
+        private final Contact[] elements;
+        private final int from;
+        private final int to;
+
+        SnapshotList(Contact[] elements, int from, int to) {
+            this.elements = elements;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Contact get(int index) {
+            if (index < 0 || index >= to - from) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + (to - from));
+            }
+            return elements[from + index];
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+
+        @Override
+        public List<Contact> subList(int fromIndex, int toIndex) {
+            if (fromIndex < 0 || toIndex > to - from || fromIndex > toIndex) {
+                throw new IndexOutOfBoundsException("Range [" + fromIndex + ", " + toIndex
+                        + ") out of bounds for length " + (to - from));
+            }
+            return new SnapshotList(elements, from + fromIndex, from + toIndex);
+        }
+
+        @Override
+        public void forEach(Consumer<? super Contact> action) {
+            for (int i = from; i < to; i++) {
+                action.accept(elements[i]);
+            }
+        }
+
+        @Override
+        public Spliterator<Contact> spliterator() {
+            // Array spliterators split exactly in half, which suits parallel streams
+            return Spliterators.spliterator(elements, from, to,
+                    Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.NONNULL);
+        }
+
+        @Override
+        public Object[] toArray() {
+            return Arrays.copyOfRange(elements, from, to, Object[].class);
+        }
+    }
+}
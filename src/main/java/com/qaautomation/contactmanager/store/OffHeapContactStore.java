@@ -0,0 +1,370 @@
+package com.qaautomation.contactmanager.store;
+
+import com.qaautomation.contactmanager.Contact;
+
+import java.io.Closeable;
+import java.util.function.Consumer;
+
+/**
+ * Store that keeps contact records and both of its tables in direct (off-heap) memory,
+ * so the GC only sees this object and a few buffer handles however large the phonebook is.
+ *
+ * Layout mirrors ColumnarContactStore: records encoded by ContactRecords are appended to a
+ * data region; a slot region holds one 16-byte entry per insertion position (record address,
+ * record length, name key hash); and an open-addressing hash table of slot numbers indexes
+ * the normalized names. Contact objects are materialized on access.
+ *
+ * Releasing memory: the store owns native memory outside the heap limit (bounded by
+ * -XX:MaxDirectMemorySize instead). Call close() once the phone using it is discarded;
+ * it frees all regions immediately, and any further use of the store throws
+ * IllegalStateException. A store that is never closed is freed only when the GC collects
+ * its buffers, which can take long for a large, rarely collected heap.
+ */
+public class OffHeapContactStore implements ContactStore, Closeable {
+
+    public static final int DEFAULT_DATA_CHUNK_BYTES = 16 * 1024 * 1024;
+
+    private static final int SLOT_BYTES = 16;
+    private static final int SLOT_CHUNK_BYTES = 1024 * 1024;
+    private static final int MAX_TABLE_CHUNK_BYTES = 1024 * 1024;
+    private static final int INITIAL_TABLE_CAPACITY = 128;
+    private static final long DEAD = -1;
+    private static final int MIN_COMPACTION_BYTES = 4096;
+
+    private final int dataChunkBytes;
+    private OffHeapMemory data;
+    private long dataSize;
+    private long garbageBytes;
+
+    // Slot entry: record address (long) | record length (int) | name key hash (int)
+    private OffHeapMemory slots;
+    private int slotCount;
+    private int liveCount;
+
+    // Name key hash table with linear probing; entries are slot + 1, 0 means empty
+    private OffHeapMemory table;
+    private int tableCapacity;
+
+    private byte[] scratch = new byte[256];
+    private boolean closed;
+
+    public OffHeapContactStore() {
+        this(DEFAULT_DATA_CHUNK_BYTES);
+    }
+
+    /**
+     * @param dataChunkBytes size of each direct buffer holding records, a power of two
+     */
+    public OffHeapContactStore(int dataChunkBytes) {
+        this.dataChunkBytes = dataChunkBytes;
+        allocate();
+    }
+
+    private void allocate() {
+        data = new OffHeapMemory(dataChunkBytes);
+        dataSize = 0;
+        garbageBytes = 0;
+        slots = new OffHeapMemory(SLOT_CHUNK_BYTES);
+        slotCount = 0;
+        liveCount = 0;
+        table = newTable(INITIAL_TABLE_CAPACITY);
+        tableCapacity = INITIAL_TABLE_CAPACITY;
+    }
+
+    @Override
+    public int size() {
+        checkOpen();
+        return liveCount;
+    }
+
+    @Override
+    public Contact get(String nameKey) {
+        checkOpen();
+        long bucket = findBucket(nameKey, hash(nameKey));
+        return bucket < 0 ? null : materialize(table.getInt(bucket * 4) - 1);
+    }
+
+    @Override
+    public boolean contains(String nameKey) {
+        checkOpen();
+        return findBucket(nameKey, hash(nameKey)) >= 0;
+    }
+
+    @Override
+    public boolean add(String nameKey, Contact contact) {
+        checkOpen();
+        int hash = hash(nameKey);
+        if (findBucket(nameKey, hash) >= 0) {
+            return false;
+        }
+        int slot = slotCount++;
+        slots.ensureCapacity((long) slotCount * SLOT_BYTES);
+        writeRecord(slot, contact, hash);
+        liveCount++;
+        insert(slot, hash);
+        return true;
+    }
+
+    @Override
+    public Contact replace(String oldKey, String newKey, Contact contact) {
+        checkOpen();
+        long bucket = findBucket(oldKey, hash(oldKey));
+        if (bucket < 0) {
+            return null;
+        }
+        int slot = table.getInt(bucket * 4) - 1;
+        Contact existing = materialize(slot);
+        deleteBucket(bucket);
+
+        int newHash = hash(newKey);
+        garbageBytes += recordLength(slot);
+        writeRecord(slot, contact, newHash);
+        insert(slot, newHash);
+        compactIfNeeded();
+        return existing;
+    }
+
+    @Override
+    public Contact remove(String nameKey) {
+        checkOpen();
+        long bucket = findBucket(nameKey, hash(nameKey));
+        if (bucket < 0) {
+            return null;
+        }
+        int slot = table.getInt(bucket * 4) - 1;
+        Contact existing = materialize(slot);
+        deleteBucket(bucket);
+
+        garbageBytes += recordLength(slot);
+        slots.putLong((long) slot * SLOT_BYTES, DEAD);
+        liveCount--;
+        compactIfNeeded();
+        return existing;
+    }
+
+    @Override
+    public void forEach(Consumer<? super Contact> action) {
+        checkOpen();
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (recordAddress(slot) != DEAD) {
+                action.accept(materialize(slot));
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        checkOpen();
+        freeAll();
+        allocate();
+    }
+
+    @Override
+    public void ensureCapacity(int additionalContacts) {
+        checkOpen();
+        slots.ensureCapacity(((long) slotCount + additionalContacts) * SLOT_BYTES);
+        int capacity = ColumnarContactStore.tableCapacityFor(liveCount + additionalContacts);
+        if (capacity > tableCapacity) {
+            rebuildTable(capacity);
+        }
+    }
+
+    /**
+     * Native memory currently reserved by the store
+     */
+    public long getOffHeapBytes() {
+        checkOpen();
+        return data.capacity() + slots.capacity() + table.capacity();
+    }
+
+    /**
+     * Frees all off-heap memory. The store cannot be used afterwards; calling close again does nothing.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            freeAll();
+        }
+    }
+
+    private void freeAll() {
+        data.free();
+        slots.free();
+        table.free();
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Off-heap contact store is closed");
+        }
+    }
+
+    // ---- slots ----
+
+    private long recordAddress(int slot) {
+        return slots.getLong((long) slot * SLOT_BYTES);
+    }
+
+    private int recordLength(int slot) {
+        return slots.getInt((long) slot * SLOT_BYTES + 8);
+    }
+
+    private int keyHash(int slot) {
+        return slots.getInt((long) slot * SLOT_BYTES + 12);
+    }
+
+    private void writeRecord(int slot, Contact contact, int hash) {
+        int length = ContactRecords.encodedLength(contact);
+        byte[] buffer = scratch(length);
+        ContactRecords.encode(contact, buffer, 0);
+        data.ensureCapacity(dataSize + length);
+        data.write(dataSize, buffer, 0, length);
+
+        long entry = (long) slot * SLOT_BYTES;
+        slots.putLong(entry, dataSize);
+        slots.putInt(entry + 8, length);
+        slots.putInt(entry + 12, hash);
+        dataSize += length;
+    }
+
+    /**
+     * Copies the slot's record into the scratch buffer and returns the buffer
+     */
+    private byte[] readRecord(int slot) {
+        int length = recordLength(slot);
+        byte[] buffer = scratch(length);
+        data.read(recordAddress(slot), buffer, 0, length);
+        return buffer;
+    }
+
+    private Contact materialize(int slot) {
+        return ContactRecords.decode(readRecord(slot), 0);
+    }
+
+    private byte[] scratch(int length) {
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        return scratch;
+    }
+
+    private void compactIfNeeded() {
+        boolean bytesWasted = garbageBytes > MIN_COMPACTION_BYTES && garbageBytes * 2 > dataSize;
+        boolean slotsWasted = slotCount > 64 && (slotCount - liveCount) * 2L > slotCount;
+        if (!bytesWasted && !slotsWasted) {
+            return;
+        }
+
+        OffHeapMemory compacted = new OffHeapMemory(dataChunkBytes);
+        compacted.ensureCapacity(dataSize - garbageBytes);
+        long compactedSize = 0;
+        int liveSlot = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (recordAddress(slot) == DEAD) {
+                continue;
+            }
+            int length = recordLength(slot);
+            int hash = keyHash(slot);
+            compacted.write(compactedSize, readRecord(slot), 0, length);
+
+            // Slots only move towards the front, so entries not yet visited are never overwritten
+            long entry = (long) liveSlot * SLOT_BYTES;
+            slots.putLong(entry, compactedSize);
+            slots.putInt(entry + 8, length);
+            slots.putInt(entry + 12, hash);
+            compactedSize += length;
+            liveSlot++;
+        }
+        data.free();
+        data = compacted;
+        dataSize = compactedSize;
+        garbageBytes = 0;
+        slotCount = liveSlot;
+        rebuildTable(tableCapacity);
+    }
+
+    // ---- hash table ----
+
+    private static int hash(String nameKey) {
+        int h = nameKey.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static OffHeapMemory newTable(int capacity) {
+        long bytes = capacity * 4L;
+        OffHeapMemory memory = new OffHeapMemory((int) Math.min(bytes, MAX_TABLE_CHUNK_BYTES));
+        memory.ensureCapacity(bytes);
+        return memory;
+    }
+
+    /**
+     * Returns the table position holding the key, or -1
+     */
+    private long findBucket(String nameKey, int hash) {
+        long mask = tableCapacity - 1;
+        for (long bucket = hash & mask; ; bucket = (bucket + 1) & mask) {
+            int entry = table.getInt(bucket * 4);
+            if (entry == 0) {
+                return -1;
+            }
+            int slot = entry - 1;
+            if (keyHash(slot) == hash && ContactRecords.nameMatches(readRecord(slot), 0, nameKey)) {
+                return bucket;
+            }
+        }
+    }
+
+    private void insert(int slot, int hash) {
+        // Keep the load factor at or below 2/3
+        if ((liveCount + 1) * 3L > tableCapacity * 2L) {
+            rebuildTable(tableCapacity * 2);
+            return;
+        }
+        long mask = tableCapacity - 1;
+        long bucket = hash & mask;
+        while (table.getInt(bucket * 4) != 0) {
+            bucket = (bucket + 1) & mask;
+        }
+        table.putInt(bucket * 4, slot + 1);
+    }
+
+    /**
+     * Empties a bucket and shifts later entries of the same probe run back,
+     * so lookups never need tombstones
+     */
+    private void deleteBucket(long bucket) {
+        long mask = tableCapacity - 1;
+        long hole = bucket;
+        for (long next = (hole + 1) & mask; ; next = (next + 1) & mask) {
+            int entry = table.getInt(next * 4);
+            if (entry == 0) {
+                break;
+            }
+            long home = keyHash(entry - 1) & mask;
+            boolean canMove = hole <= next ? (home <= hole || home > next) : (home <= hole && home > next);
+            if (canMove) {
+                table.putInt(hole * 4, entry);
+                hole = next;
+            }
+        }
+        table.putInt(hole * 4, 0);
+    }
+
+    private void rebuildTable(int capacity) {
+        table.free();
+        table = newTable(capacity);
+        tableCapacity = capacity;
+        long mask = capacity - 1;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (recordAddress(slot) == DEAD) {
+                continue;
+            }
+            long bucket = keyHash(slot) & mask;
+            while (table.getInt(bucket * 4) != 0) {
+                bucket = (bucket + 1) & mask;
+            }
+            table.putInt(bucket * 4, slot + 1);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.qaautomation.contactmanager.store;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Growable off-heap memory made of equally sized direct ByteBuffer chunks, addressed
+ * with long positions so it can exceed the 2 GB limit of a single buffer. Nothing is
+ * allocated up front, and the first chunk starts small and doubles until it reaches
+ * the chunk size, so a small store does not reserve a whole chunk.
+ *
+ * Ints and longs must be aligned to their size so they never straddle two chunks; byte
+ * ranges may. free() releases the chunks immediately instead of waiting for the GC to
+ * collect the buffers.
+ */
+final class OffHeapMemory {
+
+    private static final int MIN_FIRST_CHUNK_BYTES = 4096;
+
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafe = theUnsafe.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // No explicit release available; buffers are freed when the GC collects them
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private final int chunkShift;
+    private final int chunkMask;
+    private ByteBuffer[] chunks = new ByteBuffer[4];
+    private int chunkCount;
+
+    /**
+     * @param chunkSize bytes per chunk, a power of two
+     */
+    OffHeapMemory(int chunkSize) {
+        if (Integer.bitCount(chunkSize) != 1 || chunkSize < 8) {
+            throw new IllegalArgumentException("Chunk size must be a power of two of at least 8: " + chunkSize);
+        }
+        this.chunkShift = Integer.numberOfTrailingZeros(chunkSize);
+        this.chunkMask = chunkSize - 1;
+    }
+
+    long capacity() {
+        if (chunkCount == 0) {
+            return 0;
+        }
+        // Only the first chunk can be smaller than the chunk size, and then it is the only one
+        return ((long) (chunkCount - 1) << chunkShift) + chunks[chunkCount - 1].capacity();
+    }
+
+    /**
+     * Allocates chunks until at least the given number of bytes is addressable
+     */
+    void ensureCapacity(long bytes) {
+        if (capacity() >= bytes) {
+            return;
+        }
+        int chunkSize = chunkMask + 1;
+        if (chunkCount <= 1 && capacity() < chunkSize) {
+            growFirstChunk(bytes >= chunkSize ? chunkSize : (int) bytes);
+        }
+        while (capacity() < bytes) {
+            if (chunkCount == chunks.length) {
+                chunks = Arrays.copyOf(chunks, chunkCount * 2);
+            }
+            chunks[chunkCount++] = ByteBuffer.allocateDirect(chunkMask + 1);
+        }
+    }
+
+    /**
+     * Replaces the first chunk with one of at least the given size (doubling, capped at the
+     * chunk size) and copies its contents over
+     */
+    private void growFirstChunk(int bytes) {
+        int chunkSize = chunkMask + 1;
+        int current = chunkCount == 0 ? 0 : chunks[0].capacity();
+        int size = Math.max(MIN_FIRST_CHUNK_BYTES, current * 2);
+        while (size < bytes) {
+            size *= 2;
+        }
+        ByteBuffer grown = ByteBuffer.allocateDirect(Math.min(size, chunkSize));
+        if (chunkCount == 1) {
+            ByteBuffer old = chunks[0].duplicate();
+            old.clear();
+            grown.put(old);
+            grown.clear();
+            release(chunks[0]);
+        }
+        chunks[0] = grown;
+        chunkCount = 1;
+    }
+
+    int getInt(long position) {
+        return chunk(position).getInt((int) (position & chunkMask));
+    }
+
+    void putInt(long position, int value) {
+        chunk(position).putInt((int) (position & chunkMask), value);
+    }
+
+    long getLong(long position) {
+        return chunk(position).getLong((int) (position & chunkMask));
+    }
+
+    void putLong(long position, long value) {
+        chunk(position).putLong((int) (position & chunkMask), value);
+    }
+
+    void read(long position, byte[] target, int offset, int length) {
+        while (length > 0) {
+            ByteBuffer chunk = chunk(position).duplicate();
+            int start = (int) (position & chunkMask);
+            int count = Math.min(length, chunkMask + 1 - start);
+            chunk.position(start);
+            chunk.get(target, offset, count);
+            position += count;
+            offset += count;
+            length -= count;
+        }
+    }
+
+    void write(long position, byte[] source, int offset, int length) {
+        while (length > 0) {
+            ByteBuffer chunk = chunk(position).duplicate();
+            int start = (int) (position & chunkMask);
+            int count = Math.min(length, chunkMask + 1 - start);
+            chunk.position(start);
+            chunk.put(source, offset, count);
+            position += count;
+            offset += count;
+            length -= count;
+        }
+    }
+
+    /**
+     * Releases every chunk; the memory must not be used afterwards
+     */
+    void free() {
+        for (int i = 0; i < chunkCount; i++) {
+            release(chunks[i]);
+            chunks[i] = null;
+        }
+        chunkCount = 0;
+    }
+
+    private ByteBuffer chunk(long position) {
+        return chunks[(int) (position >>> chunkShift)];
+    }
+
+    private static void release(ByteBuffer buffer) {
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException e) {
+            // Left to the GC
+        }
+    }
+}
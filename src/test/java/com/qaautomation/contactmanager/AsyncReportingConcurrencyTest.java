@@ -0,0 +1,30 @@
+package com.qaautomation.contactmanager;
+
+import com.qaautomation.contactmanager.reports.ExtentManager;
+import com.qaautomation.contactmanager.reports.TestReporter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+
+/**
+ * Runs the reporting concurrency tests again with asynchronous reporting, as with -Dextent.async=true,
+ * so events applied on the drainer thread race with node creation and flushes from the test threads
+ */
+public class AsyncReportingConcurrencyTest extends ReportingConcurrencyTest {
+
+    // The whole run may already be asynchronous; leave it that way afterwards
+    private static boolean asyncBefore;
+
+    @BeforeAll
+    public static void enableAsyncReporting() {
+        asyncBefore = ExtentManager.isAsyncReporting();
+        ExtentManager.enableAsyncReporting();
+        TestReporter.logInfo("Asynchronous reporting enabled");
+    }
+
+    @AfterAll
+    public static void disableAsyncReporting() {
+        if (!asyncBefore) {
+            ExtentManager.disableAsyncReporting();
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.qaautomation.contactmanager;
+
+import com.qaautomation.contactmanager.reports.ExtentManager;
+import com.qaautomation.contactmanager.reports.TestReporter;
+import com.aventstack.extentreports.ExtentTest;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Multi-threaded stress tests for ConcurrentMobilePhone
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ConcurrentMobilePhoneTest {
+
+    private static final int THREADS = 8;
+    private static final int CONTACTS_PER_THREAD = 5_000;
+
+    private ConcurrentMobilePhone phone;
+    private static ExtentTest parentTest;
+    private ExecutorService executor;
+
+    @BeforeAll
+    public static void setUpClass() {
+        parentTest = ExtentManager.createTest(
+                "Concurrent Mobile Phone Tests",
+                "Stress testing of thread-safe contact management"
+        );
+        TestReporter.logInfo("Concurrency Test Suite initialized");
+    }
+
+    @BeforeEach
+    public void setUp(TestInfo testInfo) {
+        phone = new ConcurrentMobilePhone("061-CONCURRENT");
+        executor = Executors.newFixedThreadPool(THREADS);
+
+        ExtentManager.createNode(parentTest, testInfo.getDisplayName());
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+        TestReporter.logInfo("Test completed. Final contact count: " + phone.getContactCount());
+    }
+
+    @AfterAll
+    public static void tearDownClass() {
+        TestReporter.logInfo("Concurrency test suite completed");
+        ExtentManager.flushReport();
+    }
+
+    /**
+     * Starts every task at the same moment and waits for all of them
+     */
+    private <T> List<T> runConcurrently(List<Callable<T>> tasks) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        for (Callable<T> task : tasks) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+        List<T> results = new ArrayList<>();
+        for (Future<T> future : futures) {
+            results.add(future.get(30, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+
+    @Test
+    @DisplayName("CONC001: Competing Adds Never Create Duplicates")
+    public void testCompetingAddsNeverCreateDuplicates() throws Exception {
+        TestReporter.startTest("Competing Adds Never Create Duplicates");
+
+        TestReporter.logStep("Every thread adds the same names with different casing");
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            tasks.add(() -> {
+                int added = 0;
+                for (int i = 0; i < CONTACTS_PER_THREAD; i++) {
+                    String name = (thread % 2 == 0 ? "User " : "USER ") + i;
+                    if (phone.addNewContact(Contact.createContact(name, "555-" + thread))) {
+                        added++;
+                    }
+                }
+                return added;
+            });
+        }
+        int totalAdded = runConcurrently(tasks).stream().mapToInt(Integer::intValue).sum();
+
+        TestReporter.logInfo("Successful adds: " + totalAdded);
+        assertEquals(CONTACTS_PER_THREAD, totalAdded, "Each name should be added exactly once");
+        assertEquals(CONTACTS_PER_THREAD, phone.getContactCount());
+
+        Set<String> names = new HashSet<>();
+        for (Contact contact : phone.getAllContacts()) {
+            assertTrue(names.add(contact.getName().toLowerCase()), "Duplicate found: " + contact.getName());
+        }
+        TestReporter.logPass("No duplicates under " + THREADS + " competing writers");
+    }
+
+    @Test
+    @DisplayName("CONC002: Concurrent Updates Are Not Lost")
+    public void testConcurrentUpdatesAreNotLost() throws Exception {
+        TestReporter.startTest("Concurrent Updates Are Not Lost");
+
+        for (int t = 0; t < THREADS; t++) {
+            phone.addNewContact(Contact.createContact("Owner " + t, "0"));
+        }
+
+        TestReporter.logStep("Each thread repeatedly updates its own contact while others churn unrelated names");
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            tasks.add(() -> {
+                String name = "Owner " + thread;
+                for (int i = 1; i <= CONTACTS_PER_THREAD; i++) {
+                    assertTrue(phone.updateContact(Contact.createContact(name, "x"),
+                            Contact.createContact(name, String.valueOf(i))));
+                    Contact temp = Contact.createContact("Temp " + thread + "-" + i, "1");
+                    phone.addNewContact(temp);
+                    phone.removeContact(temp);
+                }
+                return 0;
+            });
+        }
+        runConcurrently(tasks);
+
+        for (int t = 0; t < THREADS; t++) {
+            assertEquals(String.valueOf(CONTACTS_PER_THREAD), phone.queryContact("owner " + t).getPhoneNumber(),
+                    "Last update should win for Owner " + t);
+        }
+        assertEquals(THREADS, phone.getContactCount(), "Temporary contacts should all be removed");
+        TestReporter.logPass("All updates applied, no lost writes");
+    }
+
+    @Test
+    @DisplayName("CONC003: Competing Renames Keep Names Unique")
+    public void testCompetingRenamesKeepNamesUnique() throws Exception {
+        TestReporter.startTest("Competing Renames Keep Names Unique");
+
+        for (int t = 0; t < THREADS; t++) {
+            phone.addNewContact(Contact.createContact("Source " + t, "555-" + t));
+        }
+
+        TestReporter.logStep("All threads try to rename their contact to the same target name");
+        AtomicInteger winners = new AtomicInteger();
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            tasks.add(() -> {
+                boolean renamed = phone.updateContact(Contact.createContact("Source " + thread, "x"),
+                        Contact.createContact("Target", "555-" + thread));
+                if (renamed) {
+                    winners.incrementAndGet();
+                }
+                return renamed;
+            });
+        }
+        runConcurrently(tasks);
+
+        assertEquals(1, winners.get(), "Exactly one rename should win");
+        assertEquals(THREADS, phone.getContactCount(), "Renames must not add or drop contacts");
+        assertNotNull(phone.queryContact("target"));
+        TestReporter.logPass("Rename conflicts resolved atomically");
+    }
+
+    @Test
+    @DisplayName("CONC004: Snapshots List a Renamed Contact Exactly Once")
+    public void testSnapshotsDuringRenames() throws Exception {
+        TestReporter.startTest("Snapshots List a Renamed Contact Exactly Once");
+
+        for (int i = 0; i < 10; i++) {
+            phone.addNewContact(Contact.createContact("Stable " + i, "555-" + i));
+        }
+        phone.addNewContact(Contact.createContact("Moving A", "555-0000"));
+
+        TestReporter.logStep("One thread renames a contact back and forth while another lists the contacts");
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        tasks.add(() -> {
+            for (int i = 0; i < 500_000; i++) {
+                String from = i % 2 == 0 ? "Moving A" : "Moving B";
+                String to = i % 2 == 0 ? "Moving B" : "Moving A";
+                phone.updateContact(Contact.createContact(from, "555-0000"), Contact.createContact(to, "555-0000"));
+            }
+            return 0;
+        });
+        tasks.add(() -> {
+            int snapshots = 0;
+            for (int i = 0; i < 200_000; i++) {
+                List<Contact> contacts = phone.getAllContacts();
+                long moving = contacts.stream().filter(contact -> contact.getName().startsWith("Moving")).count();
+                // Twice: seen under both names; never: scan passed the new name before the rename and the old one after
+                assertEquals(1, moving, "Renamed contact listed " + moving + " times");
+                assertEquals(11, contacts.size());
+                snapshots++;
+            }
+            return snapshots;
+        });
+        runConcurrently(tasks);
+
+        assertEquals(11, phone.getContactCount());
+        TestReporter.logPass("Each contact appears exactly once in every snapshot");
+    }
+}
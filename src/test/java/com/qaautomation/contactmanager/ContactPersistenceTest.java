@@ -0,0 +1,403 @@
+package com.qaautomation.contactmanager;
+
+import com.qaautomation.contactmanager.persistence.ContactSnapshot;
+import com.qaautomation.contactmanager.persistence.JournaledMobilePhone;
+import com.qaautomation.contactmanager.persistence.PhonebookRegistry;
+import com.qaautomation.contactmanager.reports.ExtentManager;
+import com.qaautomation.contactmanager.reports.TestReporter;
+import com.aventstack.extentreports.ExtentTest;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Persistence tests: binary snapshots, journaling and the phonebook registry
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ContactPersistenceTest {
+
+    private MobilePhone phone;
+    private static ExtentTest parentTest;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    public static void setUpClass() {
+        parentTest = ExtentManager.createTest(
+                "Contact Persistence Tests",
+                "Snapshot round-trips and corruption handling"
+        );
+        TestReporter.logInfo("Persistence Test Suite initialized");
+    }
+
+    @BeforeEach
+    public void setUp(TestInfo testInfo) {
+        phone = new MobilePhone("061-PERSIST");
+
+        ExtentManager.createNode(parentTest, testInfo.getDisplayName());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        TestReporter.logInfo("Test completed. Final contact count: " + phone.getContactCount());
+    }
+
+    @AfterAll
+    public static void tearDownClass() {
+        TestReporter.logInfo("Persistence test suite completed");
+        ExtentManager.flushReport();
+    }
+
+    @Test
+    @DisplayName("PERS001: Snapshot Round-Trip Preserves Contacts and Order")
+    public void testSnapshotRoundTrip() throws IOException {
+        TestReporter.startTest("Snapshot Round-Trip Preserves Contacts and Order");
+
+        phone.addNewContact(Contact.createContact("Dragan Stojilković", "+381 61 123456"));
+        phone.addNewContact(Contact.createContact("名前 テスト", "555-0101"));
+        phone.addNewContact(Contact.createContact("Long " + "x".repeat(300), "555-0102"));
+        for (int i = 0; i < 10_000; i++) {
+            phone.addNewContact(Contact.createContact("User " + i, "555-" + i));
+        }
+
+        Path snapshot = tempDir.resolve("phone.snapshot");
+        TestReporter.logStep("Saving and loading " + phone.getContactCount() + " contacts");
+        ContactSnapshot.save(phone, snapshot);
+        MobilePhone loaded = ContactSnapshot.load(snapshot);
+
+        assertEquals(phone.getMyNumber(), loaded.getMyNumber());
+        assertEquals(phone.getContactCount(), loaded.getContactCount());
+        List<Contact> expectedContacts = phone.getAllContacts();
+        List<Contact> loadedContacts = loaded.getAllContacts();
+        for (int i = 0; i < expectedContacts.size(); i++) {
+            Contact expected = expectedContacts.get(i);
+            Contact actual = loadedContacts.get(i);
+            assertEquals(expected.getName(), actual.getName());
+            assertEquals(expected.getPhoneNumber(), actual.getPhoneNumber());
+        }
+        TestReporter.logInfo("Snapshot size: " + Files.size(snapshot) + " bytes");
+        TestReporter.logPass("Snapshot round-trip is exact");
+    }
+
+    @Test
+    @DisplayName("PERS002: Corrupted Snapshot Is Rejected")
+    public void testCorruptedSnapshotIsRejected() throws IOException {
+        TestReporter.startTest("Corrupted Snapshot Is Rejected");
+
+        phone.addNewContact(Contact.createContact("John Doe", "555-0101"));
+        Path snapshot = tempDir.resolve("corrupt.snapshot");
+        ContactSnapshot.save(phone, snapshot);
+
+        TestReporter.logStep("Flipping one byte inside the payload");
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length / 2] ^= 0x01;
+        Files.write(snapshot, bytes);
+        assertThrows(IOException.class, () -> ContactSnapshot.load(snapshot));
+
+        TestReporter.logStep("Truncating the file");
+        Files.write(snapshot, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> ContactSnapshot.load(snapshot));
+
+        TestReporter.logPass("Damaged snapshots fail with IOException");
+    }
+
+    @Test
+    @DisplayName("PERS009: Failed Snapshot Save Leaves No Temporary File")
+    public void testFailedSnapshotSaveCleansUp() throws IOException {
+        TestReporter.startTest("Failed Snapshot Save Leaves No Temporary File");
+        phone.addNewContact(Contact.createContact("John Doe", "555-0101"));
+        Path directory = Files.createDirectories(tempDir.resolve("failed-save"));
+
+        TestReporter.logStep("Saving over a non-empty directory so the final move fails");
+        Path target = Files.createDirectories(directory.resolve("phone.snapshot"));
+        Files.write(target.resolve("blocker"), new byte[]{1});
+        assertThrows(IOException.class, () -> ContactSnapshot.save(phone, target));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(Arrays.asList("phone.snapshot"),
+                    files.map(file -> file.getFileName().toString()).collect(Collectors.toList()));
+        }
+
+        TestReporter.logStep("A loaded snapshot can be replaced and deleted right away");
+        Path snapshot = directory.resolve("loaded.snapshot");
+        ContactSnapshot.save(phone, snapshot);
+        assertEquals(1, ContactSnapshot.load(snapshot).getContactCount());
+        phone.addNewContact(Contact.createContact("Jane Smith", "555-0102"));
+        ContactSnapshot.save(phone, snapshot);
+        assertEquals(2, ContactSnapshot.load(snapshot).getContactCount());
+        Files.delete(snapshot);
+
+        TestReporter.logPass("Temporary file removed after the failed move");
+    }
+
+    @Test
+    @DisplayName("PERS003: Journal Replays Mutations After Restart")
+    public void testJournalReplaysMutations() throws IOException {
+        TestReporter.startTest("Journal Replays Mutations After Restart");
+        Path directory = tempDir.resolve("journal");
+
+        TestReporter.logStep("Applying mutations to a journaled phonebook");
+        try (JournaledMobilePhone journaled = JournaledMobilePhone.open("061-PERSIST", directory)) {
+            journaled.addAllContacts(Arrays.asList(
+                    Contact.createContact("John Doe", "555-0101"),
+                    Contact.createContact("Jane Smith", "555-0102"),
+                    Contact.createContact("Bob Johnson", "555-0103")));
+            journaled.updateContact(Contact.createContact("John Doe", "555-0101"),
+                    Contact.createContact("Johnny Doe", "555-9999"));
+            journaled.removeContact(Contact.createContact("Jane Smith", "555-0102"));
+            journaled.addNewContact(Contact.createContact("Alice Brown", "555-0104"));
+        }
+
+        TestReporter.logStep("Reopening and replaying the journal");
+        try (JournaledMobilePhone restored = JournaledMobilePhone.open("061-PERSIST", directory)) {
+            assertEquals(Arrays.asList("Johnny Doe", "Bob Johnson", "Alice Brown"), names(restored));
+            assertEquals("555-9999", restored.queryContact("johnny doe").getPhoneNumber());
+        }
+        TestReporter.logPass("Journal restored the exact state");
+    }
+
+    @Test
+    @DisplayName("PERS004: Compaction Replaces History With a Snapshot")
+    public void testJournalCompaction() throws IOException {
+        TestReporter.startTest("Compaction Replaces History With a Snapshot");
+        Path directory = tempDir.resolve("compacted");
+
+        try (JournaledMobilePhone journaled = JournaledMobilePhone.open("061-PERSIST", directory,
+                JournaledMobilePhone.Durability.ASYNC, JournaledMobilePhone.DEFAULT_COMPACTION_THRESHOLD_BYTES)) {
+            for (int i = 0; i < 1_000; i++) {
+                journaled.addNewContact(Contact.createContact("User " + i, "555-" + i));
+            }
+            for (int i = 0; i < 1_000; i += 2) {
+                journaled.removeContact(Contact.createContact("User " + i, "555-" + i));
+            }
+
+            TestReporter.logStep("Compacting the journal");
+            journaled.compact();
+            journaled.addNewContact(Contact.createContact("After Compaction", "555-0000"));
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(2, files.count(), "Only the latest snapshot and active segment should remain");
+        }
+
+        try (JournaledMobilePhone restored = JournaledMobilePhone.open("061-PERSIST", directory)) {
+            assertEquals(501, restored.getContactCount());
+            assertNull(restored.queryContact("User 0"));
+            assertNotNull(restored.queryContact("User 1"));
+            assertNotNull(restored.queryContact("After Compaction"));
+        }
+        TestReporter.logPass("Compacted journal restores the same state");
+    }
+
+    @Test
+    @DisplayName("PERS005: Torn Journal Tail Is Ignored")
+    public void testTornJournalTailIsIgnored() throws IOException {
+        TestReporter.startTest("Torn Journal Tail Is Ignored");
+        Path directory = tempDir.resolve("torn");
+
+        try (JournaledMobilePhone journaled = JournaledMobilePhone.open("061-PERSIST", directory)) {
+            journaled.addNewContact(Contact.createContact("John Doe", "555-0101"));
+            journaled.addNewContact(Contact.createContact("Jane Smith", "555-0102"));
+        }
+
+        TestReporter.logStep("Simulating a crash in the middle of a record");
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(file -> file.getFileName().toString().endsWith(".log"))
+                    .filter(file -> file.toFile().length() > 0)
+                    .findFirst().orElseThrow();
+        }
+        Files.write(segment, new byte[]{0, 0, 0, 40, 1, 0, 0}, StandardOpenOption.APPEND);
+
+        try (JournaledMobilePhone restored = JournaledMobilePhone.open("061-PERSIST", directory)) {
+            assertEquals(Arrays.asList("John Doe", "Jane Smith"), names(restored));
+            restored.addNewContact(Contact.createContact("Bob Johnson", "555-0103"));
+        }
+
+        TestReporter.logStep("Reopening once the torn segment is no longer the last one");
+        try (JournaledMobilePhone restored = JournaledMobilePhone.open("061-PERSIST", directory)) {
+            assertEquals(Arrays.asList("John Doe", "Jane Smith", "Bob Johnson"), names(restored));
+        }
+        TestReporter.logPass("Complete records replayed, torn tail skipped");
+    }
+
+    @Test
+    @DisplayName("PERS010: Journal Failures Leave Memory and Recovery Consistent")
+    public void testJournalFailuresStayConsistent() throws IOException {
+        TestReporter.startTest("Journal Failures Leave Memory and Recovery Consistent");
+        Path directory = tempDir.resolve("failures");
+
+        TestReporter.logStep("Mutating after the journal is closed");
+        JournaledMobilePhone journaled = JournaledMobilePhone.open("061-PERSIST", directory);
+        journaled.addNewContact(Contact.createContact("John Doe", "555-0101"));
+        journaled.close();
+        assertThrows(IllegalStateException.class,
+                () -> journaled.addNewContact(Contact.createContact("Jane Smith", "555-0102")));
+        assertThrows(IllegalStateException.class, () -> journaled.bulkAddContacts(Arrays.asList(
+                Contact.createContact("Bob Johnson", "555-0103"),
+                Contact.createContact("Alice Brown", "555-0104"))));
+        assertThrows(IllegalStateException.class, () -> journaled.updateContact(
+                Contact.createContact("John Doe", "555-0101"), Contact.createContact("Johnny Doe", "555-9999")));
+        assertThrows(IllegalStateException.class,
+                () -> journaled.removeContact(Contact.createContact("John Doe", "555-0101")));
+        assertThrows(IllegalStateException.class, journaled::clearAllContacts);
+        assertEquals(Arrays.asList("John Doe"), names(journaled));
+        assertEquals("555-0101", journaled.queryContact("John Doe").getPhoneNumber());
+        assertFalse(journaled.addNewContact(Contact.createContact("john doe", "555-0000")),
+                "A rejected mutation needs no journal and still returns false");
+
+        TestReporter.logStep("Writing two more segments, then corrupting the middle one");
+        try (JournaledMobilePhone reopened = JournaledMobilePhone.open("061-PERSIST", directory)) {
+            assertEquals(Arrays.asList("John Doe"), names(reopened));
+            reopened.addNewContact(Contact.createContact("Jane Smith", "555-0102"));
+        }
+        try (JournaledMobilePhone reopened = JournaledMobilePhone.open("061-PERSIST", directory)) {
+            reopened.addNewContact(Contact.createContact("Bob Johnson", "555-0103"));
+        }
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(directory)) {
+            segments = files.filter(file -> file.getFileName().toString().endsWith(".log"))
+                    .filter(file -> file.toFile().length() > 0)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        assertEquals(3, segments.size());
+        byte[] bytes = Files.readAllBytes(segments.get(1));
+        bytes[bytes.length - 1] ^= 0x01;
+        Files.write(segments.get(1), bytes);
+
+        IOException failure = assertThrows(IOException.class,
+                () -> JournaledMobilePhone.open("061-PERSIST", directory));
+        TestReporter.logInfo("Recovery refused: " + failure.getMessage());
+        TestReporter.logPass("Refused records leave memory untouched; a corrupted middle segment fails recovery");
+    }
+
+    @Test
+    @DisplayName("PERS006: Registry Evicts Cold Phonebooks Under Its Budget and Reloads Them")
+    public void testRegistryEvictsAndReloads() throws IOException {
+        TestReporter.startTest("Registry Evicts Cold Phonebooks Under Its Budget and Reloads Them");
+        Path directory = tempDir.resolve("registry");
+        // Room for three phonebooks of 100 contacts
+        PhonebookRegistry registry = new PhonebookRegistry(directory, 80_000);
+
+        TestReporter.logStep("Filling 10 phonebooks of 100 contacts");
+        for (int p = 0; p < 10; p++) {
+            int owner = p;
+            registry.withPhone("+381 61 00" + p, phone -> {
+                for (int i = 0; i < 100; i++) {
+                    phone.addNewContact(Contact.createContact("Contact " + owner + "-" + i, "555-" + i));
+                }
+                return null;
+            });
+        }
+        PhonebookRegistry.Stats filled = registry.getStats();
+        TestReporter.logTestData("Stats", filled.toString());
+        assertEquals(10, filled.getMisses());
+        assertTrue(filled.getResidentPhones() <= 3, "resident phonebooks fit the budget");
+        assertTrue(filled.getResidentBytes() <= registry.getHeapBudgetBytes());
+        assertEquals(10 - filled.getResidentPhones(), filled.getEvictions());
+        assertEquals(filled.getEvictions(), filled.getSnapshotWrites());
+
+        TestReporter.logStep("Reading every phonebook back");
+        for (int p = 0; p < 10; p++) {
+            int owner = p;
+            List<String> names = registry.withPhone(" +381 61 00" + p + " ", ContactPersistenceTest::names);
+            assertEquals(100, names.size());
+            assertEquals("Contact " + owner + "-0", names.get(0));
+            assertEquals("Contact " + owner + "-99", names.get(99));
+        }
+        PhonebookRegistry.Stats reread = registry.getStats();
+        assertTrue(reread.getEvictions() > filled.getEvictions());
+        assertEquals(filled.getSnapshotWrites(), reread.getSnapshotWrites(), "unchanged phonebooks are not rewritten");
+
+        TestReporter.logStep("Flushing and reopening the registry");
+        registry.withPhone("+381 61 009", phone -> phone.removeContact(Contact.createContact("Contact 9-0", "555-0")));
+        registry.flush();
+        PhonebookRegistry reopened = new PhonebookRegistry(directory, 80_000);
+        assertEquals(99, (int) reopened.withPhone("+381 61 009", MobilePhone::getContactCount));
+        assertEquals(100, (int) reopened.withPhone("+381 61 000", MobilePhone::getContactCount));
+        assertEquals(0, (int) reopened.withPhone("+381 61 999", MobilePhone::getContactCount));
+        TestReporter.logPass("Evicted phonebooks reload with their contacts; " + reread);
+    }
+
+    @Test
+    @DisplayName("PERS007: Registry Keeps Frequently Used Phonebooks During a Scan")
+    public void testRegistryResistsScans() throws IOException {
+        TestReporter.startTest("Registry Keeps Frequently Used Phonebooks During a Scan");
+        PhonebookRegistry registry = new PhonebookRegistry(tempDir.resolve("scan"), 80_000);
+        Function<MobilePhone, Integer> fill = phone -> phone.addAllContacts(IntStream.range(0, 100)
+                .mapToObj(i -> Contact.createContact("User " + i, "555-" + i)).collect(Collectors.toList()));
+
+        for (int i = 0; i < 20; i++) {
+            registry.withPhone("HOT", fill);
+        }
+        TestReporter.logStep("Touching 50 other phonebooks once each");
+        for (int i = 0; i < 50; i++) {
+            registry.withPhone("COLD-" + i, fill);
+        }
+        long misses = registry.getStats().getMisses();
+        assertEquals(100, (int) registry.withPhone("HOT", MobilePhone::getContactCount));
+        assertEquals(misses, registry.getStats().getMisses(), "the frequently used phonebook stayed resident");
+        assertEquals(100, (int) registry.withPhone("COLD-7", MobilePhone::getContactCount));
+        TestReporter.logPass("One-off accesses did not evict the hot phonebook; " + registry.getStats());
+    }
+
+    @Test
+    @DisplayName("PERS008: Registry Serves Concurrent Callers Without Losing Updates")
+    public void testRegistryConcurrentAccess() throws Exception {
+        TestReporter.startTest("Registry Serves Concurrent Callers Without Losing Updates");
+        PhonebookRegistry registry = new PhonebookRegistry(tempDir.resolve("concurrent"), 200_000);
+        int threads = 8;
+        int addsPerThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < addsPerThread; i++) {
+                        String contact = "T" + thread + "-" + i;
+                        String number = "555-" + i;
+                        registry.withPhone("PHONE-" + (i % 20),
+                                phone -> phone.addNewContact(Contact.createContact(contact, number)));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        int total = 0;
+        for (int p = 0; p < 20; p++) {
+            total += registry.withPhone("PHONE-" + p, MobilePhone::getContactCount);
+        }
+        TestReporter.logTestData("Stats", registry.getStats().toString());
+        assertEquals(threads * addsPerThread, total);
+        assertEquals(0, registry.getStats().getFailedEvictions());
+        TestReporter.logPass("All " + total + " concurrent adds survived eviction and reload");
+    }
+
+    private static List<String> names(MobilePhone phone) {
+        return phone.getAllContacts().stream().map(Contact::getName).collect(Collectors.toList());
+    }
+}
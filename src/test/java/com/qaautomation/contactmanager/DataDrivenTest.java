@@ -1,16 +1,37 @@
 package com.qaautomation.contactmanager;
 
+import com.qaautomation.contactmanager.data.BulkContactImporter;
+import com.qaautomation.contactmanager.data.ContactDataCache;
+import com.qaautomation.contactmanager.data.CsvContactFormat;
 import com.qaautomation.contactmanager.data.ExcelDataReader;
+import com.qaautomation.contactmanager.data.JsonLinesContactFormat;
+import com.qaautomation.contactmanager.data.StreamingExcelReader;
+import com.qaautomation.contactmanager.data.StreamingExcelWriter;
 import com.qaautomation.contactmanager.data.TestDataProvider;
 import com.qaautomation.contactmanager.data.DataValidator;
 import com.qaautomation.contactmanager.reports.ExtentManager;
 import com.qaautomation.contactmanager.reports.TestReporter;
 import com.aventstack.extentreports.ExtentTest;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,8 +58,7 @@ public class DataDrivenTest {
         phone = new MobilePhone("061-999888");
         testContacts = TestDataProvider.getContactsFromExcel();
 
-        ExtentTest test = parentTest.createNode(testInfo.getDisplayName());
-        ExtentManager.setTestRunner(test);
+        ExtentManager.createNode(parentTest, testInfo.getDisplayName());
 
         TestReporter.logInfo("Loaded " + testContacts.size() + " test contacts from external source");
         if (!testContacts.isEmpty()) {
@@ -153,6 +173,263 @@ public class DataDrivenTest {
         return TestDataProvider.getInvalidContacts().stream();
     }
 
+    @Test
+    @DisplayName("DD004: Streaming Excel Reader Matches Workbook Reader")
+    public void testStreamingReaderMatchesWorkbookReader() throws Exception {
+        TestReporter.startTest("Streaming Excel Reader Matches Workbook Reader");
+        String excelPath = "test-data/test-contacts.xlsx";
+
+        List<Contact> expected = ExcelDataReader.tryReadContactsFromExcel(excelPath);
+        Assumptions.assumeFalse(expected.isEmpty(), "Excel test data not available");
+
+        TestReporter.logStep("Streaming contacts row by row");
+        List<Contact> streamed = new ArrayList<>();
+        int count = StreamingExcelReader.readContacts(excelPath, streamed::add);
+
+        assertEquals(expected.size(), count, "Streaming reader should emit every contact");
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getName(), streamed.get(i).getName());
+            assertEquals(expected.get(i).getPhoneNumber(), streamed.get(i).getPhoneNumber());
+        }
+        TestReporter.logPass("Streamed " + count + " contacts identical to the workbook reader");
+    }
+
+    @Test
+    @DisplayName("DD005: Parallel Multi-Sheet Multi-File Import")
+    public void testParallelMultiSheetImport(@TempDir Path tempDir) throws Exception {
+        TestReporter.startTest("Parallel Multi-Sheet Multi-File Import");
+
+        TestReporter.logStep("Creating two regional workbooks with overlapping contacts");
+        Path north = writeWorkbook(tempDir.resolve("north.xlsx"),
+                new String[][]{{"North A", "555-1001"}, {"Shared User", "555-1002"}},
+                new String[][]{{"North B", "555-1003"}});
+        Path south = writeWorkbook(tempDir.resolve("south.xlsx"),
+                new String[][]{{"shared user", "555-2001"}, {"South A", "555-2002"}});
+
+        BulkContactImporter.ImportReport report = new BulkContactImporter(4)
+                .importContacts(Arrays.asList(north.toString(), south.toString()), phone);
+        TestReporter.logTestData("Import Report", report.toString());
+
+        assertEquals(3, report.getSheetResults().size(), "Every sheet should be reported");
+        assertEquals(5, report.getTotalRows());
+        assertEquals(4, report.getTotalAdded());
+        assertEquals(1, report.getTotalDuplicates());
+        assertEquals(3, report.getRowsPerFile().get(north.toString()));
+        assertEquals("555-1002", phone.queryContact("Shared User").getPhoneNumber(),
+                "First file in the list should win duplicate names");
+
+        TestReporter.logStep("Reading the sheets of one opened workbook from parallel threads");
+        try (StreamingExcelReader.Workbook workbook = StreamingExcelReader.Workbook.open(north.toString())) {
+            assertEquals(Arrays.asList("Region 1", "Region 2"), workbook.getSheetNames());
+            List<Integer> counts = Arrays.asList(0, 1).parallelStream().map(sheet -> {
+                try {
+                    return workbook.readContacts(sheet, contact -> { });
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).collect(Collectors.toList());
+            assertEquals(Arrays.asList(2, 1), counts);
+            assertThrows(IOException.class, () -> workbook.readContacts(2, contact -> { }));
+        }
+
+        BulkContactImporter.ImportReport missing = new BulkContactImporter(2)
+                .importContacts(Arrays.asList(tempDir.resolve("missing.xlsx").toString(), south.toString()),
+                        new MobilePhone("061-MISSING"));
+        assertFalse(missing.getSheetResults().get(0).isSuccessful(), "A file that cannot be opened should be reported");
+        assertEquals(2, missing.getTotalAdded());
+
+        TestReporter.logPass("Parallel import merged deterministically");
+    }
+
+    @Test
+    @DisplayName("DD006: Cached Data Source Invalidates on File Change")
+    public void testContactDataCacheInvalidation(@TempDir Path tempDir) throws Exception {
+        TestReporter.startTest("Cached Data Source Invalidates on File Change");
+        Path workbook = writeWorkbook(tempDir.resolve("cached.xlsx"),
+                new String[][]{{"Cached User", "555-5001"}});
+
+        TestReporter.logStep("Repeated reads of an unchanged file hit the cache");
+        List<Contact> first = ContactDataCache.getContacts(workbook.toString());
+        List<Contact> second = ContactDataCache.getContacts(workbook.toString());
+        assertSame(first, second, "Unchanged file should not be parsed again");
+        assertThrows(UnsupportedOperationException.class, () -> first.add(Contact.createContact("X", "1")));
+
+        TestReporter.logStep("Rewriting the file invalidates the cached entry");
+        writeWorkbook(workbook, new String[][]{{"Cached User", "555-5001"}, {"New User", "555-5002"}});
+        Files.setLastModifiedTime(workbook, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+        List<Contact> reloaded = ContactDataCache.getContacts(workbook.toString());
+        assertNotSame(first, reloaded);
+        assertEquals(2, reloaded.size());
+
+        TestReporter.logStep("A failed parse is not cached");
+        Path broken = tempDir.resolve("broken.xlsx");
+        byte[] valid = Files.readAllBytes(workbook);
+        FileTime modified = FileTime.fromMillis(System.currentTimeMillis() - 60_000);
+        Files.write(broken, new byte[valid.length]);
+        Files.setLastModifiedTime(broken, modified);
+        assertTrue(ContactDataCache.getContacts(broken.toString()).isEmpty());
+        // Same size and modification time as the broken file, so only an uncached read sees it
+        Files.write(broken, valid);
+        Files.setLastModifiedTime(broken, modified);
+        assertEquals(2, ContactDataCache.getContacts(broken.toString()).size());
+
+        TestReporter.logStep("Public readers still return mutable copies");
+        List<Contact> copy = ExcelDataReader.readContactsFromExcel(workbook.toString(), null);
+        copy.add(Contact.createContact("Extra", "555-5003"));
+        assertEquals(2, ContactDataCache.getContacts(workbook.toString()).size());
+
+        TestReporter.logStep("Indexed reads use the cached list without copying it");
+        List<Contact> provided = TestDataProvider.getContactsFromExcel();
+        List<Contact> range = TestDataProvider.getContactRange(0, provided.size() - 1);
+        range.clear();
+        assertEquals(provided.size(), TestDataProvider.getContactsFromExcel().size());
+        assertSame(provided.get(0), TestDataProvider.getContact(0));
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+            long threadId = Thread.currentThread().getId();
+            TestDataProvider.getContact(0);
+            TestDataProvider.getContactsFromExcel();
+            // Both pay the cache's freshness check; only getContactsFromExcel should copy the list
+            long before = allocations.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < 10_000; i++) {
+                TestDataProvider.getContact(i % provided.size());
+            }
+            long indexed = allocations.getThreadAllocatedBytes(threadId) - before;
+            before = allocations.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < 10_000; i++) {
+                TestDataProvider.getContactsFromExcel();
+            }
+            long copied = allocations.getThreadAllocatedBytes(threadId) - before;
+            TestReporter.logTestData("Bytes allocated by 10,000 getContact calls", indexed);
+            TestReporter.logTestData("Bytes allocated by 10,000 getContactsFromExcel calls", copied);
+            // An ArrayList copy is at least 24 bytes for the list plus its backing array
+            assertTrue(indexed + 10_000 * 24L < copied,
+                    "getContact allocated " + indexed + " bytes, as much as copying the list (" + copied + ")");
+        }
+
+        ContactDataCache.invalidate(workbook.toString());
+        ContactDataCache.invalidate(broken.toString());
+        TestReporter.logPass("Cache served repeated reads and picked up the change");
+    }
+
+    @Test
+    @DisplayName("DD007: CSV and JSON-Lines Streaming Round Trip")
+    public void testCsvAndJsonLinesRoundTrip(@TempDir Path tempDir) throws Exception {
+        TestReporter.startTest("CSV and JSON-Lines Streaming Round Trip");
+        int rows = 20_000;
+        String[][] data = new String[rows][];
+        for (int i = 0; i < rows; i++) {
+            data[i] = new String[]{"Stream User " + i, String.format("555-%07d", i)};
+        }
+        // Values that need quoting or escaping must survive both formats
+        data[0] = new String[]{"O'Brien, \"Pat\"", "+1 (555) 000-0000"};
+        data[1] = new String[]{"Zoë Ünïcode", "555-0000001"};
+        Path workbook = writeWorkbook(tempDir.resolve("source.xlsx"), data);
+
+        TestReporter.logStep("Loading the same dataset from Excel, CSV and JSON lines");
+        long start = System.nanoTime();
+        List<Contact> excelContacts = ExcelDataReader.tryReadContactsFromExcel(workbook.toString());
+        long excelNanos = System.nanoTime() - start;
+        phone.addAllContacts(excelContacts);
+
+        String csv = tempDir.resolve("contacts.csv").toString();
+        String jsonl = tempDir.resolve("contacts.jsonl").toString();
+        assertEquals(rows, CsvContactFormat.exportContacts(phone, csv));
+        assertEquals(rows, JsonLinesContactFormat.exportContacts(phone, jsonl));
+
+        MobilePhone fromCsv = new MobilePhone("061-CSV");
+        start = System.nanoTime();
+        int csvAdded = CsvContactFormat.importContacts(csv, fromCsv);
+        long csvNanos = System.nanoTime() - start;
+
+        MobilePhone fromJson = new MobilePhone("061-JSONL");
+        start = System.nanoTime();
+        int jsonAdded = JsonLinesContactFormat.importContacts(jsonl, fromJson);
+        long jsonNanos = System.nanoTime() - start;
+
+        TestReporter.logTestData("Rows per second", String.format("Excel: %,.0f, CSV: %,.0f, JSON lines: %,.0f",
+                rows / (excelNanos / 1e9), rows / (csvNanos / 1e9), rows / (jsonNanos / 1e9)));
+
+        assertEquals(rows, csvAdded);
+        assertEquals(rows, jsonAdded);
+        List<Contact> expected = phone.getAllContacts();
+        for (MobilePhone copy : Arrays.asList(fromCsv, fromJson)) {
+            List<Contact> actual = copy.getAllContacts();
+            for (int i = 0; i < rows; i++) {
+                assertEquals(expected.get(i).getName(), actual.get(i).getName());
+                assertEquals(expected.get(i).getPhoneNumber(), actual.get(i).getPhoneNumber());
+            }
+        }
+
+        TestReporter.logStep("Blank rows and unknown fields are skipped");
+        Path messy = tempDir.resolve("messy.jsonl");
+        Files.write(messy, Arrays.asList(
+                "{\"name\":\"Kept\",\"phoneNumber\":\"555-1\",\"tags\":[\"a\"],\"meta\":{\"x\":1}}",
+                "{\"name\":\"  \",\"phoneNumber\":\"555-2\"}",
+                "{\"name\":\"No Phone\"}"));
+        List<Contact> messyContacts = new ArrayList<>();
+        assertEquals(1, JsonLinesContactFormat.readContacts(messy.toString(), messyContacts::add));
+        assertEquals("Kept", messyContacts.get(0).getName());
+
+        TestReporter.logPass("CSV and JSON lines round-tripped " + rows + " contacts");
+    }
+
+    @Test
+    @DisplayName("DD008: Streaming Excel Export Round Trip")
+    public void testStreamingExcelExportRoundTrip(@TempDir Path tempDir) throws Exception {
+        TestReporter.startTest("Streaming Excel Export Round Trip");
+        for (int i = 0; i < 5_000; i++) {
+            phone.addNewContact(Contact.createContact("Export User " + i, String.format("555-%07d", i)));
+        }
+        String exported = tempDir.resolve("export.xlsx").toString();
+
+        TestReporter.logStep("Exporting " + phone.getContactCount() + " contacts with SXSSF");
+        assertEquals(5_000, StreamingExcelWriter.exportContacts(phone, exported));
+
+        TestReporter.logStep("Reading the export back with both Excel readers");
+        List<Contact> expected = phone.getAllContacts();
+        List<Contact> workbookRead = ExcelDataReader.tryReadContactsFromExcel(exported);
+        List<Contact> streamed = new ArrayList<>();
+        StreamingExcelReader.readContacts(exported, streamed::add);
+        assertEquals(expected.size(), workbookRead.size());
+        assertEquals(expected.size(), streamed.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getName(), workbookRead.get(i).getName());
+            assertEquals(expected.get(i).getPhoneNumber(), workbookRead.get(i).getPhoneNumber());
+            assertEquals(expected.get(i).getPhoneNumber(), streamed.get(i).getPhoneNumber());
+        }
+
+        TestReporter.logStep("Splitting the export across sheets");
+        String split = tempDir.resolve("split.xlsx").toString();
+        StreamingExcelWriter.writeContacts(split, phone::forEachContact, 2_000);
+        assertEquals(Arrays.asList("Contacts", "Contacts 2", "Contacts 3"), StreamingExcelReader.getSheetNames(split));
+        MobilePhone imported = new MobilePhone("061-SPLIT");
+        BulkContactImporter.ImportReport report = new BulkContactImporter(2)
+                .importContacts(Arrays.asList(split), imported);
+        assertEquals(5_000, report.getTotalAdded(), "Every sheet should round-trip through the bulk importer");
+
+        TestReporter.logPass("Exported workbook round-tripped through every reader");
+    }
+
+    private static Path writeWorkbook(Path path, String[][]... sheets) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(path)) {
+            for (int s = 0; s < sheets.length; s++) {
+                Sheet sheet = workbook.createSheet("Region " + (s + 1));
+                Row header = sheet.createRow(0);
+                header.createCell(0).setCellValue("Name");
+                header.createCell(1).setCellValue("Phone Number");
+                for (int r = 0; r < sheets[s].length; r++) {
+                    Row row = sheet.createRow(r + 1);
+                    row.createCell(0).setCellValue(sheets[s][r][0]);
+                    row.createCell(1).setCellValue(sheets[s][r][1]);
+                }
+            }
+            workbook.write(out);
+        }
+        return path;
+    }
+
 
 }
 
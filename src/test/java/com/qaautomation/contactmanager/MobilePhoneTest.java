@@ -2,7 +2,11 @@ package com.qaautomation.contactmanager;
 
 import com.qaautomation.contactmanager.data.TestDataProvider;
 import com.qaautomation.contactmanager.data.DataValidator;
+import com.qaautomation.contactmanager.index.PhoneticNameIndex;
+import com.qaautomation.contactmanager.metrics.ContactMetrics;
 import com.qaautomation.contactmanager.reports.ExtentManager;
+import com.qaautomation.contactmanager.store.ColumnarContactStore;
+import com.qaautomation.contactmanager.store.OffHeapContactStore;
 import com.qaautomation.contactmanager.reports.TestReporter;
 import com.aventstack.extentreports.ExtentTest;
 
@@ -10,8 +14,19 @@ import org.junit.jupiter.api.*;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.text.Collator;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -38,8 +53,7 @@ public class MobilePhoneTest {
     public void setUp(TestInfo testInfo) {
         phone = new MobilePhone("061-123456");
 
-        ExtentTest test = parentTest.createNode(testInfo.getDisplayName());
-        ExtentManager.setTestRunner(test);
+        ExtentManager.createNode(parentTest, testInfo.getDisplayName());
 
         TestReporter.logInfo("Initialized MobilePhone instance: " + phone.toString());
     }
@@ -260,10 +274,545 @@ public class MobilePhoneTest {
         TestReporter.logPass("Complete contact lifecycle test passed - All CRUD operations working correctly");
     }
 
+    @Test
+    @DisplayName("TC008: Case-Insensitive Name Index")
+    public void testCaseInsensitiveNameIndex() {
+        TestReporter.startTest("Case-Insensitive Name Index");
+
+        TestReporter.logStep("Adding contacts and rejecting case-variant duplicates");
+        assertTrue(phone.addNewContact(Contact.createContact("John Doe", "555-0101")));
+        assertTrue(phone.addNewContact(Contact.createContact("Jane Smith", "555-0102")));
+        assertFalse(phone.addNewContact(Contact.createContact("JOHN DOE", "555-0199")),
+                "Case-variant duplicate should be rejected");
+
+        TestReporter.logStep("Querying with different casing");
+        assertEquals("555-0101", phone.queryContact("john doe").getPhoneNumber());
+        assertTrue(phone.contactExists("JANE SMITH"));
+
+        TestReporter.logStep("Renaming onto an existing name must fail");
+        assertFalse(phone.updateContact(Contact.createContact("Jane Smith", "555-0102"),
+                Contact.createContact("john doe", "555-0000")));
+
+        TestReporter.logStep("Renaming keeps position and re-indexes the contact");
+        assertTrue(phone.updateContact(Contact.createContact("john doe", "555-0101"),
+                Contact.createContact("Johnny Doe", "555-0111")));
+        assertNull(phone.queryContact("John Doe"));
+        assertEquals("Johnny Doe", phone.getAllContacts().get(0).getName());
+        assertEquals("555-0111", phone.queryContact("JOHNNY DOE").getPhoneNumber());
+
+        TestReporter.logStep("Removing and clearing keep the index in sync");
+        assertTrue(phone.removeContact(Contact.createContact("JANE smith", "555-0102")));
+        assertFalse(phone.contactExists("Jane Smith"));
+        phone.clearAllContacts();
+        assertNull(phone.queryContact("Johnny Doe"));
+        assertTrue(phone.addNewContact(Contact.createContact("Johnny Doe", "555-0111")));
+
+        TestReporter.logPass("Name index stays consistent with the contact list");
+    }
 
+    @Test
+    @DisplayName("TC009: Reverse Lookup by Phone Number")
+    public void testQueryByPhoneNumber() {
+        TestReporter.startTest("Reverse Lookup by Phone Number");
 
+        phone.addNewContact(Contact.createContact("John Doe", "555-0101"));
+        phone.addNewContact(Contact.createContact("Jane Smith", "555-0102"));
 
-}
+        TestReporter.logStep("Looking up differently formatted numbers");
+        assertEquals("John Doe", phone.queryByPhoneNumber("555-0101").getName());
+        assertEquals("John Doe", phone.queryByPhoneNumber("5550101").getName());
+        assertEquals("John Doe", phone.queryByPhoneNumber("(555) 0101").getName());
+        assertNull(phone.queryByPhoneNumber("555-0199"));
+
+        TestReporter.logStep("Index follows add, update, remove and clear");
+        phone.addNewContact(Contact.createContact("Bob Johnson", "555 0103"));
+        assertEquals("Bob Johnson", phone.queryByPhoneNumber("555-0103").getName());
+
+        phone.updateContact(Contact.createContact("John Doe", "555-0101"),
+                Contact.createContact("John Doe", "555-9999"));
+        assertNull(phone.queryByPhoneNumber("555-0101"));
+        assertEquals("John Doe", phone.queryByPhoneNumber("5559999").getName());
+
+        phone.removeContact(Contact.createContact("Jane Smith", "555-0102"));
+        assertNull(phone.queryByPhoneNumber("555-0102"));
+
+        phone.clearAllContacts();
+        assertNull(phone.queryByPhoneNumber("555-9999"));
+
+        TestReporter.logPass("Caller-ID index stays consistent with the contact list");
+    }
+
+    @Test
+    @DisplayName("TC010: Type-Ahead Prefix Search")
+    public void testSearchByPrefix() {
+        TestReporter.startTest("Type-Ahead Prefix Search");
+
+        phone.addAllContacts(Arrays.asList(
+                Contact.createContact("John Doe", "555-0101"),
+                Contact.createContact("jane Smith", "555-0102"),
+                Contact.createContact("Bob Johnson", "555-0103"),
+                Contact.createContact("Janet Lee", "555-0104"),
+                Contact.createContact("Jack Black", "555-0105")
+        ));
+
+        TestReporter.logStep("Searching by prefix with different casing");
+        List<Contact> matches = phone.searchByPrefix("JA", 10);
+        assertEquals(Arrays.asList("Jack Black", "jane Smith", "Janet Lee"),
+                matches.stream().map(Contact::getName).collect(Collectors.toList()));
+        assertEquals(2, phone.searchByPrefix("j", 2).size(), "Result should be capped at the limit");
+        assertTrue(phone.searchByPrefix("Zed", 5).isEmpty());
+
+        TestReporter.logStep("Index follows update and remove");
+        phone.updateContact(Contact.createContact("Jack Black", "555-0105"),
+                Contact.createContact("Zed Black", "555-0105"));
+        phone.removeContact(Contact.createContact("Janet Lee", "555-0104"));
+        assertEquals(1, phone.searchByPrefix("ja", 10).size());
+        assertEquals("Zed Black", phone.searchByPrefix("z", 10).get(0).getName());
+
+        TestReporter.logPass("Prefix search returns sorted, capped matches");
+    }
+
+    @Test
+    @DisplayName("TC011: Batch Validation Summary")
+    public void testBatchValidation() {
+        TestReporter.startTest("Batch Validation Summary");
+
+        List<Contact> batch = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            batch.add(Contact.createContact("User " + i, "555-" + i));
+        }
+        batch.set(10, null);
+        batch.set(20, Contact.createContact("N".repeat(101), "555-0020"));
+        batch.set(30, Contact.createContact("Long Phone", "5".repeat(21)));
+
+        TestReporter.logStep("Validating " + batch.size() + " contacts in parallel");
+        DataValidator.BatchValidationResult result = DataValidator.validateAll(batch);
+        TestReporter.logTestData("Validation Summary", result.toString());
+
+        assertEquals(10_000, result.getTotalCount());
+        assertEquals(9_997, result.getValidCount());
+        assertArrayEquals(new int[]{10, 20, 30}, result.getInvalidIndexes());
+        assertEquals(DataValidator.Rule.NULL_CONTACT, result.getInvalidRule(0));
+        assertEquals(DataValidator.Rule.NAME_LENGTH, result.getInvalidRule(1));
+        assertEquals(1, result.getCount(DataValidator.Rule.PHONE_LENGTH));
+
+        TestReporter.logStep("Stream and single-contact APIs agree with the batch");
+        assertEquals(result.getCountsByRule(), DataValidator.validateAll(batch.stream()).getCountsByRule());
+        assertSame(DataValidator.validateContact(batch.get(0)), DataValidator.validateContact(batch.get(1)),
+                "Valid contacts should share one result instance");
+
+        TestReporter.logPass("Batch validation reported every invalid row");
+    }
+
+    @Test
+    @DisplayName("TC012: Operation Metrics and JMX")
+    public void testOperationMetrics() throws Exception {
+        TestReporter.startTest("Operation Metrics and JMX");
+
+        assertNull(phone.getMetrics(), "Metrics should be off by default");
+        ContactMetrics metrics = phone.enableMetrics();
+        assertSame(metrics, phone.enableMetrics(), "Enabling twice should keep the same counters");
+
+        TestReporter.logStep("Running a mix of successful and failing operations");
+        phone.addNewContact(Contact.createContact("Alice", "555-0001"));
+        phone.addNewContact(Contact.createContact("Bob", "555-0002"));
+        phone.addNewContact(Contact.createContact("alice", "555-0003"));
+        phone.queryContact("ALICE");
+        phone.contactExists("Bob");
+        phone.queryContact("Nobody");
+        phone.updateContact(Contact.createContact("Bob", "555-0002"), Contact.createContact("Bobby", "555-0002"));
+        phone.updateContact(Contact.createContact("Nobody", "555-0000"), Contact.createContact("Other", "555-0000"));
+        phone.removeContact(Contact.createContact("Alice", "555-0001"));
+        phone.removeContact(Contact.createContact("Alice", "555-0001"));
+
+        ContactMetrics.Snapshot snapshot = metrics.snapshot();
+        TestReporter.logTestData("Metrics Snapshot", snapshot.toString());
+
+        assertEquals(2, snapshot.getContactsAdded());
+        assertEquals(1, snapshot.getDuplicateRejections());
+        assertEquals(3, snapshot.getLookups());
+        assertEquals(2, snapshot.getLookupHits());
+        assertEquals(2.0 / 3, snapshot.getLookupHitRatio(), 1e-9);
+        assertEquals(1, snapshot.getUpdates());
+        assertEquals(1, snapshot.getFailedUpdates());
+        assertEquals(1, snapshot.getRemoves());
+        assertEquals(1, snapshot.getFailedRemoves());
+
+        TestReporter.logStep("Reading the same counters through JMX");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = metrics.registerMBean(phone.getMyNumber());
+        try {
+            assertEquals(3L, server.getAttribute(objectName, "Lookups"));
+            assertEquals(1L, server.getAttribute(objectName, "DuplicateRejections"));
+            server.invoke(objectName, "reset", null, null);
+            assertEquals(0, metrics.snapshot().getLookups(), "JMX reset should clear the counters");
+        } finally {
+            ContactMetrics.unregisterMBean(phone.getMyNumber());
+        }
+        assertFalse(server.isRegistered(objectName));
+
+        phone.disableMetrics();
+        phone.queryContact("Bobby");
+        assertEquals(0, metrics.getLookups(), "Disabled metrics should not count");
+
+        TestReporter.logPass("Metrics counted every operation outcome");
+    }
+
+    @Test
+    @DisplayName("TC013: Columnar Store Matches Default Store")
+    public void testColumnarStoreMatchesDefaultStore() {
+        TestReporter.startTest("Columnar Store Matches Default Store");
+        MobilePhone columnar = new MobilePhone("061-COLUMNAR", new ColumnarContactStore());
+
+        assertStoreMatchesDefaultStore(columnar);
+
+        TestReporter.logPass("Columnar store behaved exactly like the default store");
+    }
+
+    @Test
+    @DisplayName("TC014: Off-Heap Store CRUD and Release")
+    public void testOffHeapStore() {
+        TestReporter.startTest("Off-Heap Store CRUD and Release");
+        // Small chunks so records regularly straddle two direct buffers
+        OffHeapContactStore store = new OffHeapContactStore(4096);
+        try {
+            MobilePhone offHeap = new MobilePhone("061-OFFHEAP", store);
+            assertStoreMatchesDefaultStore(offHeap);
+            TestReporter.logTestData("Off-heap bytes reserved", store.getOffHeapBytes());
+        } finally {
+            store.close();
+        }
+
+        TestReporter.logStep("A default-sized store reserves memory as it grows, not a whole chunk up front");
+        try (OffHeapContactStore small = new OffHeapContactStore()) {
+            MobilePhone offHeap = new MobilePhone("061-OFFHEAP", small);
+            assertTrue(small.getOffHeapBytes() <= 4096, "Empty store reserved " + small.getOffHeapBytes());
+            offHeap.addNewContact(Contact.createContact("John Doe", "555-0101"));
+            assertTrue(small.getOffHeapBytes() <= 16 * 1024, "One contact reserved " + small.getOffHeapBytes());
+            for (int i = 0; i < 5_000; i++) {
+                offHeap.addNewContact(Contact.createContact("Grow User " + i, "555-" + i));
+            }
+            offHeap.clearAllContacts();
+            assertTrue(small.getOffHeapBytes() <= 4096, "Cleared store reserved " + small.getOffHeapBytes());
+            for (int i = 0; i < 5_000; i++) {
+                offHeap.addNewContact(Contact.createContact("Grow User " + i, "555-" + i));
+            }
+            assertEquals(5_000, offHeap.getContactCount());
+            assertEquals("555-4999", offHeap.queryContact("grow user 4999").getPhoneNumber());
+            TestReporter.logTestData("Off-heap bytes for 5,000 contacts", small.getOffHeapBytes());
+        }
+
+        TestReporter.logStep("A closed store rejects further use");
+        assertThrows(IllegalStateException.class, () -> store.get("anyone"));
+        assertThrows(IllegalStateException.class, store::size);
+        store.close();
+
+        TestReporter.logPass("Off-heap store behaved like the default store and released its memory");
+    }
+
+    @Test
+    @DisplayName("TC015: Copy-on-Write Views, Streams and Paging")
+    public void testContactViews() {
+        TestReporter.startTest("Copy-on-Write Views, Streams and Paging");
+        for (int i = 0; i < 100_000; i++) {
+            phone.addNewContact(Contact.createContact("View User " + i, String.format("555-%07d", i)));
+        }
+
+        TestReporter.logStep("A view does not see later changes and cannot be modified");
+        List<Contact> view = phone.getContactsView();
+        phone.removeContact(Contact.createContact("View User 0", "555-0000000"));
+        phone.addNewContact(Contact.createContact("Late Addition", "555-9999999"));
+        assertEquals(100_000, view.size());
+        assertEquals("View User 0", view.get(0).getName());
+        assertThrows(UnsupportedOperationException.class, () -> view.add(Contact.createContact("X", "1")));
+        assertEquals("Late Addition", phone.getContactsView().get(99_999).getName());
+
+        TestReporter.logStep("Repeated views share the array instead of copying it");
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threads instanceof com.sun.management.ThreadMXBean, "Allocation counters not available");
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        long threadId = Thread.currentThread().getId();
+        phone.getContactsView();
+        long before = allocations.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(100_000, phone.getContactsView().size());
+        }
+        long allocated = allocations.getThreadAllocatedBytes(threadId) - before;
+        TestReporter.logTestData("Bytes allocated by 1000 views", allocated);
+        assertTrue(allocated < 1_000_000, "1000 views of 100K contacts should not copy the list, allocated " + allocated);
+
+        TestReporter.logStep("Appending between views shares the array instead of copying it");
+        before = allocations.getThreadAllocatedBytes(threadId);
+        List<Contact> beforeAppends = phone.getContactsView();
+        for (int i = 0; i < 1_000; i++) {
+            phone.addNewContact(Contact.createContact("Appended " + i, "555-8" + i));
+            assertEquals(100_001 + i, phone.getContactsView().size());
+        }
+        allocated = allocations.getThreadAllocatedBytes(threadId) - before;
+        TestReporter.logTestData("Bytes allocated by 1000 appends with views in between", allocated);
+        // Copying the array on each append would be about 400 MB; one growth is allowed
+        assertTrue(allocated < 5_000_000, "Appends after views should not copy the list, allocated " + allocated);
+        List<Contact> afterAppends = phone.getContactsView();
+        phone.updateContact(Contact.createContact("View User 1", "555-0000001"),
+                Contact.createContact("Renamed User 1", "555-0000001"));
+        assertEquals(100_000, beforeAppends.size());
+        assertEquals("View User 1", afterAppends.get(0).getName());
+        assertEquals("Renamed User 1", phone.getContactsView().get(0).getName());
+        for (int i = 0; i < 1_000; i++) {
+            phone.removeContact(Contact.createContact("Appended " + i, "555-8" + i));
+        }
+
+        TestReporter.logStep("Parallel stream and paging");
+        assertEquals(10_000, phone.streamContacts().parallel()
+                .filter(contact -> contact.getPhoneNumber().endsWith("7")).count());
+        List<Contact> page = phone.getContactsPage(50_000, 25);
+        assertEquals(25, page.size());
+        assertEquals("View User 50001", page.get(0).getName());
+        assertEquals(1, phone.getContactsPage(99_999, 25).size());
+        assertTrue(phone.getContactsPage(200_000, 25).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> phone.getContactsPage(-1, 10));
+
+        TestReporter.logPass("Views are stable, allocation-free and pageable");
+    }
+
+    @Test
+    @DisplayName("TC016: Fuzzy Name Search")
+    public void testSearchFuzzy() {
+        TestReporter.startTest("Fuzzy Name Search");
+
+        phone.addAllContacts(Arrays.asList(
+                Contact.createContact("John Doe", "555-0101"),
+                Contact.createContact("Jane Smith", "555-0102"),
+                Contact.createContact("Joan Dow", "555-0103"),
+                Contact.createContact("Bob Johnson", "555-0104"),
+                Contact.createContact("Al", "555-0105")
+        ));
+
+        TestReporter.logStep("Misspelled names find the intended contact first");
+        assertEquals(Arrays.asList("John Doe", "Joan Dow"), phone.searchFuzzy("jon doe", 10).stream()
+                .map(Contact::getName).collect(Collectors.toList()));
+        assertEquals("Jane Smith", phone.searchFuzzy("Jane Smtih", 10).get(0).getName());
+        assertEquals(1, phone.searchFuzzy("jon doe", 1).size(), "Result should be capped at the limit");
+        assertTrue(phone.searchFuzzy("Zed Black", 10).isEmpty());
+        assertEquals("Al", phone.searchFuzzy("Ali", 2, 10).get(0).getName(), "Short names fall back to a full scan");
+
+        TestReporter.logStep("Index follows update and remove");
+        phone.updateContact(Contact.createContact("Joan Dow", "555-0103"),
+                Contact.createContact("Zed Black", "555-0103"));
+        phone.removeContact(Contact.createContact("Jane Smith", "555-0102"));
+        assertEquals(Collections.singletonList("John Doe"), phone.searchFuzzy("jon doe", 10).stream()
+                .map(Contact::getName).collect(Collectors.toList()));
+        assertTrue(phone.searchFuzzy("Jane Smtih", 10).isEmpty());
+        assertEquals("Zed Black", phone.searchFuzzy("Zed Blakc", 10).get(0).getName());
+
+        TestReporter.logPass("Fuzzy search ranks close matches and follows changes");
+    }
+
+    @Test
+    @DisplayName("TC017: Phonetic Name Search")
+    public void testSearchPhonetic() {
+        TestReporter.startTest("Phonetic Name Search");
+
+        phone.addAllContacts(Arrays.asList(
+                Contact.createContact("Marko Stojilković", "555-0101"),
+                Contact.createContact("Christina Smith", "555-0102"),
+                Contact.createContact("Kristina Smyth", "555-0103"),
+                Contact.createContact("Stefan Stoilkovich", "555-0104"),
+                Contact.createContact("Bob Johnson", "555-0105")
+        ));
+
+        TestReporter.logStep("Spelling variants sound alike");
+        assertEquals(PhoneticNameIndex.encode("stojilkovic"), PhoneticNameIndex.encode("stoilkovich"));
+        assertEquals(Arrays.asList("Marko Stojilković", "Stefan Stoilkovich"), phone.searchPhonetic("Stoilkovic", 10)
+                .stream().map(Contact::getName).collect(Collectors.toList()));
+        assertEquals(Arrays.asList("Christina Smith", "Kristina Smyth"), phone.searchPhonetic("smith kristina", 10)
+                .stream().map(Contact::getName).collect(Collectors.toList()), "Tokens match in any order");
+        assertEquals(1, phone.searchPhonetic("Marco Stoylkovic", 10).size(), "Every query token must match");
+        assertEquals(1, phone.searchPhonetic("Smith", 1).size(), "Result should be capped at the limit");
+        assertTrue(phone.searchPhonetic("Zed", 10).isEmpty());
+
+        TestReporter.logStep("Index follows update and remove");
+        phone.updateContact(Contact.createContact("Stefan Stoilkovich", "555-0104"),
+                Contact.createContact("Stefan Zed", "555-0104"));
+        phone.removeContact(Contact.createContact("Kristina Smyth", "555-0103"));
+        assertEquals(1, phone.searchPhonetic("stojilkovic", 10).size());
+        assertEquals(1, phone.searchPhonetic("christina", 10).size());
+        assertEquals("Stefan Zed", phone.searchPhonetic("Zedd", 10).get(0).getName());
+
+        TestReporter.logPass("Sound-alike names are found token by token");
+    }
+
+    @Test
+    @DisplayName("TC018: Bulk Add Reports Added, Existing and Repeated Contacts")
+    public void testBulkAddContacts() {
+        TestReporter.startTest("Bulk Add With Detailed Result");
+        phone.addNewContact(Contact.createContact("John Doe", "555-0101"));
+        phone.searchByPrefix("j", 1);
+        ContactMetrics metrics = phone.enableMetrics();
+
+        TestReporter.logStep("Adding a batch with an existing name and an in-batch repeat");
+        MobilePhone.BulkAddResult result = phone.bulkAddContacts(Arrays.asList(
+                Contact.createContact("Jane Smith", "555-0102"),
+                Contact.createContact("JOHN DOE", "555-0199"),
+                Contact.createContact("Bob Johnson", "555-0103"),
+                Contact.createContact("jane smith", "555-0198"),
+                Contact.createContact("Janet Lee", "555-0104")
+        ));
+        TestReporter.logTestData("Bulk result", result);
+        assertEquals(3, result.getAddedCount());
+        assertEquals(1, result.getSkippedExisting());
+        assertEquals(1, result.getSkippedDuplicates());
+        assertEquals(5, result.getTotalCount());
+        assertEquals(3, metrics.getContactsAdded());
+        assertEquals(2, metrics.getDuplicateRejections());
+
+        TestReporter.logStep("First occurrence wins and insertion order is kept");
+        assertEquals("555-0101", phone.queryContact("john doe").getPhoneNumber());
+        assertEquals("555-0102", phone.queryContact("jane smith").getPhoneNumber());
+        assertEquals(Arrays.asList("John Doe", "Jane Smith", "Bob Johnson", "Janet Lee"),
+                phone.getAllContacts().stream().map(Contact::getName).collect(Collectors.toList()));
+        assertEquals(Arrays.asList("Jane Smith", "Janet Lee"),
+                phone.searchByPrefix("jan", 10).stream().map(Contact::getName).collect(Collectors.toList()),
+                "Attached indexes see the bulk-added contacts");
+
+        TestReporter.logStep("Large batch into an empty phone");
+        MobilePhone bulkPhone = new MobilePhone("061-BULK");
+        List<Contact> contacts = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            contacts.add(Contact.createContact("Bulk User " + (i % 150_000), String.format("555-%07d", i)));
+        }
+        result = bulkPhone.bulkAddContacts(contacts);
+        assertEquals(150_000, result.getAddedCount());
+        assertEquals(50_000, result.getSkippedDuplicates());
+        assertEquals(150_000, bulkPhone.getContactCount());
+        assertEquals(0, bulkPhone.addAllContacts(contacts.subList(0, 1_000)));
 
+        TestReporter.logPass("Bulk add classifies every contact exactly once");
+    }
+
+    @Test
+    @DisplayName("TC019: Sorted Views by Name and Number")
+    public void testSortedViews() {
+        TestReporter.startTest("Sorted Views by Name and Number");
+        phone.addAllContacts(Arrays.asList(
+                Contact.createContact("Zebra Zoo", "+49 30 555-0105"),
+                Contact.createContact("Äpfel Anna", "+49 30 555-0101"),
+                Contact.createContact("apfel Bert", "+49 89 555-0102"),
+                Contact.createContact("Kurt Klein", "030 555-0104"),
+                Contact.createContact("Marta Meyer", "+49 30 555-0103"),
+                Contact.createContact("Nina Neu", "+43 1 555-0106")
+        ));
+
+        TestReporter.logStep("Names follow the locale's alphabet, not String order");
+        assertEquals(Arrays.asList("Äpfel Anna", "apfel Bert", "Kurt Klein", "Marta Meyer", "Nina Neu", "Zebra Zoo"),
+                names(phone.getContactsSortedByName(Locale.GERMAN)));
+        assertEquals(Arrays.asList("Kurt Klein", "Marta Meyer"),
+                names(phone.getContactsInNameRange("K", "N", Locale.GERMAN, 10)), "Names from K to M");
+        assertEquals(Arrays.asList("Nina Neu", "Zebra Zoo"), names(phone.getContactsInNameRange("n", null, Locale.GERMAN, 10)));
+        assertEquals(1, phone.getContactsInNameRange(null, "B", Locale.GERMAN, 1).size(), "Result should be capped at the limit");
+        assertTrue(phone.getContactsInNameRange("N", "K", Locale.GERMAN, 10).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> phone.getContactsInNameRange("A", "B", Locale.GERMAN, -1));
+
+        TestReporter.logStep("Numbers sort by digits, ignoring formatting");
+        assertEquals(Arrays.asList("Nina Neu", "Äpfel Anna", "Marta Meyer", "Zebra Zoo", "apfel Bert", "Kurt Klein"),
+                names(phone.getContactsSortedByNumber()));
+        assertEquals(Arrays.asList("Äpfel Anna", "Marta Meyer", "Zebra Zoo"),
+                names(phone.getContactsInNumberRange("+49 30", "+49 31", 10)), "One area code");
+
+        TestReporter.logStep("Views follow add, update and remove");
+        phone.addNewContact(Contact.createContact("Lena Lang", "+49 30 555-0100"));
+        phone.updateContact(Contact.createContact("Zebra Zoo", "+49 30 555-0105"),
+                Contact.createContact("Karl Kraus", "+49 40 555-0105"));
+        phone.removeContact(Contact.createContact("Marta Meyer", "+49 30 555-0103"));
+        assertEquals(Arrays.asList("Karl Kraus", "Kurt Klein", "Lena Lang"),
+                names(phone.getContactsInNameRange("K", "N", Locale.GERMAN, 10)));
+        assertEquals(Arrays.asList("Lena Lang", "Äpfel Anna"),
+                names(phone.getContactsInNumberRange("+49 30", "+49 31", 10)));
+
+        TestReporter.logStep("Maintained order matches sorting a copy with a Collator");
+        Random random = new Random(7);
+        String[] words = {"Ana", "Äna", "ana", "Čeda", "Ceda", "Đorđe", "Dorde", "Émile", "Emile", "Zoë", "zoe", "Øyvind"};
+        for (int i = 0; i < 5_000; i++) {
+            String name = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)] + " " + random.nextInt(100);
+            if (random.nextInt(4) == 0) {
+                phone.removeContact(Contact.createContact(name, "555"));
+            } else {
+                phone.addNewContact(Contact.createContact(name, "555-" + random.nextInt(1000)));
+            }
+        }
+        for (Locale locale : Arrays.asList(Locale.GERMAN, Locale.forLanguageTag("sr-Latn"), Locale.ROOT)) {
+            Collator collator = Collator.getInstance(locale);
+            collator.setStrength(Collator.SECONDARY);
+            List<Contact> expected = phone.getAllContacts();
+            expected.sort(Comparator.comparing(Contact::getName, collator));
+            assertEquals(names(expected), names(phone.getContactsSortedByName(locale)), locale.toString());
+        }
+        TestReporter.logTestData("Contacts", String.valueOf(phone.getContactCount()));
 
+        TestReporter.logPass("Sorted views stay ordered across changes");
+    }
+
+    private static List<String> names(List<Contact> contacts) {
+        return contacts.stream().map(Contact::getName).collect(Collectors.toList());
+    }
 
+    /**
+     * Applies the same random workload to the test's default phone and the other phone,
+     * then checks both hold the same contacts in the same order
+     */
+    private void assertStoreMatchesDefaultStore(MobilePhone other) {
+        String[] phones = {"555-0101", "+1 (555) 010-2020", "ext. 42", "0800 FLOWERS", "☎ 555"};
+        String[] names = {"User", "Ünïcode", "名前", "O'Brien"};
+        Random random = new Random(42);
+
+        TestReporter.logStep("Applying the same random workload to both stores");
+        for (int step = 0; step < 20_000; step++) {
+            String name = names[random.nextInt(names.length)] + " " + random.nextInt(500);
+            String phoneNumber = phones[random.nextInt(phones.length)] + random.nextInt(10);
+            Contact contact = Contact.createContact(random.nextBoolean() ? name : name.toUpperCase(), phoneNumber);
+            switch (random.nextInt(4)) {
+                case 0:
+                case 1:
+                    assertEquals(phone.addNewContact(contact), other.addNewContact(contact), "add " + contact);
+                    break;
+                case 2:
+                    Contact renamed = Contact.createContact(names[random.nextInt(names.length)] + " "
+                            + random.nextInt(500), phoneNumber);
+                    assertEquals(phone.updateContact(contact, renamed), other.updateContact(contact, renamed),
+                            "update " + contact + " -> " + renamed);
+                    break;
+                default:
+                    assertEquals(phone.removeContact(contact), other.removeContact(contact), "remove " + contact);
+            }
+        }
+
+        TestReporter.logStep("Bulk-adding a batch with repeats to both stores");
+        List<Contact> batch = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            batch.add(Contact.createContact(names[random.nextInt(names.length)] + " " + random.nextInt(1_500),
+                    phones[random.nextInt(phones.length)]));
+        }
+        assertEquals(phone.bulkAddContacts(batch).toString(), other.bulkAddContacts(batch).toString());
+
+        TestReporter.logStep("Comparing contents, order and lookups");
+        assertEquals(phone.getContactCount(), other.getContactCount());
+        List<Contact> expected = phone.getAllContacts();
+        List<Contact> actual = other.getAllContacts();
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getName(), actual.get(i).getName());
+            assertEquals(expected.get(i).getPhoneNumber(), actual.get(i).getPhoneNumber());
+        }
+        for (Contact contact : expected) {
+            assertEquals(contact.getPhoneNumber(), other.queryContact(contact.getName().toLowerCase()).getPhoneNumber());
+            assertEquals(phone.queryByPhoneNumber(contact.getPhoneNumber()).getName(),
+                    other.queryByPhoneNumber(contact.getPhoneNumber()).getName());
+        }
+        assertEquals(phone.searchByPrefix("user 1", 20).size(), other.searchByPrefix("user 1", 20).size());
+        assertEquals(phone.searchFuzzy("usr 12", 20).size(), other.searchFuzzy("usr 12", 20).size());
+        TestReporter.logTestData("Final contact count", expected.size());
+
+        other.clearAllContacts();
+        assertEquals(0, other.getContactCount());
+        assertNull(other.queryContact(expected.get(0).getName()));
+    }
+}
@@ -2,11 +2,13 @@ package com.qaautomation.contactmanager;
 
 import com.qaautomation.contactmanager.data.TestDataProvider;
 import com.qaautomation.contactmanager.reports.ExtentManager;
+import com.qaautomation.contactmanager.reports.LatencyHistogram;
 import com.qaautomation.contactmanager.reports.TestReporter;
 import com.aventstack.extentreports.ExtentTest;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.Timeout;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -15,6 +17,13 @@ import static org.junit.jupiter.api.Assertions.*;
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public class PerformanceTest {
 
+    private static final int LATENCY_SAMPLE_SIZE = 5_000;
+
+    // Default percentile limits in microseconds; override with -Dperf.latency.<operation>.<percentile>=<micros>,
+    // e.g. -Dperf.latency.query.p99=200
+    private static final String[] THRESHOLD_PERCENTILES = {"p50", "p90", "p99", "p99.9"};
+    private static final long[] DEFAULT_THRESHOLD_MICROS = {500, 1_000, 5_000, 20_000};
+
     private MobilePhone phone;
     private static ExtentTest parentTest;
 
@@ -31,8 +40,7 @@ public class PerformanceTest {
     public void setUp(TestInfo testInfo) {
         phone = new MobilePhone("061-PERF-TEST");
 
-        ExtentTest test = parentTest.createNode(testInfo.getDisplayName());
-        ExtentManager.setTestRunner(test);
+        ExtentManager.createNode(parentTest, testInfo.getDisplayName());
 
         TestReporter.logInfo("Initialized performance test environment");
     }
@@ -86,10 +94,11 @@ public class PerformanceTest {
         TestReporter.logTestData("Pre-loaded Contacts", contacts.size());
 
         TestReporter.logStep("Starting query performance test");
+        LatencyHistogram queryLatency = new LatencyHistogram("query");
         long startTime = System.currentTimeMillis();
 
         for (Contact contact : contacts) {
-            Contact result = phone.queryContact(contact.getName());
+            Contact result = queryLatency.record(() -> phone.queryContact(contact.getName()));
             assertNotNull(result, "Contact should be found: " + contact.getName());
         }
 
@@ -98,6 +107,7 @@ public class PerformanceTest {
 
         TestReporter.logPerformanceMetric("Query " + contacts.size() + " contacts", totalTime);
         TestReporter.logInfo("Average time per query: " + String.format("%.3f", averageTimePerQuery) + " ms");
+        TestReporter.logLatencyHistograms("Per-query latency", queryLatency);
 
         assertTrue(totalTime < 3000, "Querying should complete within 3 seconds");
         assertTrue(averageTimePerQuery < 5, "Average time per query should be less than 5ms");
@@ -105,7 +115,66 @@ public class PerformanceTest {
         TestReporter.logPass("Query performance test passed");
     }
 
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    @DisplayName("PERF003: Per-Operation Latency Percentiles")
+    public void testOperationLatencyPercentiles() {
+        TestReporter.startTest("Per-Operation Latency Percentiles");
+
+        List<Contact> contacts = new ArrayList<>(LATENCY_SAMPLE_SIZE);
+        for (int i = 0; i < LATENCY_SAMPLE_SIZE; i++) {
+            contacts.add(new Contact("Latency Contact " + i, String.format("555-%07d", i)));
+        }
+        TestReporter.logTestData("Operations per type", LATENCY_SAMPLE_SIZE);
 
+        LatencyHistogram add = new LatencyHistogram("add");
+        LatencyHistogram query = new LatencyHistogram("query");
+        LatencyHistogram update = new LatencyHistogram("update");
+        LatencyHistogram remove = new LatencyHistogram("remove");
 
-}
+        TestReporter.logStep("Timing each add, query, update and remove with System.nanoTime()");
+        for (Contact contact : contacts) {
+            assertTrue(add.record(() -> phone.addNewContact(contact)), "Contact should be added: " + contact.getName());
+        }
+        for (Contact contact : contacts) {
+            assertNotNull(query.record(() -> phone.queryContact(contact.getName())),
+                    "Contact should be found: " + contact.getName());
+        }
+        List<Contact> updated = new ArrayList<>(LATENCY_SAMPLE_SIZE);
+        for (Contact contact : contacts) {
+            Contact newContact = new Contact(contact.getName(), contact.getPhoneNumber() + "0");
+            assertTrue(update.record(() -> phone.updateContact(contact, newContact)),
+                    "Contact should be updated: " + contact.getName());
+            updated.add(newContact);
+        }
+        for (Contact contact : updated) {
+            assertTrue(remove.record(() -> phone.removeContact(contact)),
+                    "Contact should be removed: " + contact.getName());
+        }
+
+        TestReporter.logLatencyHistograms("MobilePhone operations", add, query, update, remove);
+
+        TestReporter.logStep("Checking percentiles against thresholds");
+        for (LatencyHistogram histogram : new LatencyHistogram[]{add, query, update, remove}) {
+            assertLatencyThresholds(histogram);
+        }
 
+        assertEquals(0, phone.getContactCount(), "All contacts should be removed");
+        TestReporter.logPass("All operation latencies are within thresholds");
+    }
+
+    private void assertLatencyThresholds(LatencyHistogram histogram) {
+        for (int i = 0; i < THRESHOLD_PERCENTILES.length; i++) {
+            String percentile = THRESHOLD_PERCENTILES[i];
+            long limitMicros = Long.getLong("perf.latency." + histogram.getOperation() + "." + percentile,
+                    DEFAULT_THRESHOLD_MICROS[i]);
+            double actualMicros = histogram.getValueAtPercentile(Double.parseDouble(percentile.substring(1))) / 1000.0;
+
+            boolean withinLimit = actualMicros <= limitMicros;
+            TestReporter.logValidationResult(histogram.getOperation() + " " + percentile, withinLimit,
+                    String.format("%.2f us (limit %d us)", actualMicros, limitMicros));
+            assertTrue(withinLimit, histogram.getOperation() + " " + percentile + " latency "
+                    + String.format("%.2f", actualMicros) + " us exceeds " + limitMicros + " us");
+        }
+    }
+}
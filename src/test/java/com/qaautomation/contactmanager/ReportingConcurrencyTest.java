@@ -0,0 +1,264 @@
+package com.qaautomation.contactmanager;
+
+import com.qaautomation.contactmanager.reports.ExtentManager;
+import com.qaautomation.contactmanager.reports.TestReporter;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.model.Log;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that the reporting layer holds up when tests run in parallel
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.CONCURRENT)
+public class ReportingConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int NODES_PER_THREAD = 50;
+    private static final int LOGS_PER_NODE = 20;
+
+    private static ExtentTest parentTest;
+
+    @BeforeAll
+    public static void setUpClass() {
+        parentTest = ExtentManager.createTest(
+                "Reporting Concurrency Tests",
+                "Parallel use of ExtentManager and TestReporter"
+        );
+        TestReporter.logInfo("Reporting Concurrency Test Suite initialized");
+    }
+
+    @AfterAll
+    public static void tearDownClass() {
+        ExtentManager.flushReport();
+    }
+
+    @Test
+    @DisplayName("REP001: Concurrent nodes keep every log entry")
+    public void testConcurrentNodes() throws Exception {
+        ExtentTest suite = ExtentManager.createNode(parentTest, "REP001: Concurrent nodes keep every log entry");
+        TestReporter.startTest("Concurrent Nodes");
+        TestReporter.logStep("Creating " + THREADS * NODES_PER_THREAD + " nodes from " + THREADS + " threads");
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<ExtentTest>>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int threadId = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    List<ExtentTest> nodes = new ArrayList<>();
+                    for (int n = 0; n < NODES_PER_THREAD; n++) {
+                        String name = "Worker " + threadId + " node " + n;
+                        ExtentTest node = ExtentManager.createNode(suite, name);
+                        TestReporter.startTest(name);
+                        // startTest and endTest each add one entry
+                        for (int i = 0; i < LOGS_PER_NODE - 2; i++) {
+                            TestReporter.logInfo(name + " entry " + i);
+                        }
+                        TestReporter.endTest(name);
+                        nodes.add(node);
+                    }
+                    return nodes;
+                }));
+            }
+            start.countDown();
+
+            List<ExtentTest> nodes = new ArrayList<>();
+            for (Future<List<ExtentTest>> future : futures) {
+                nodes.addAll(future.get(60, TimeUnit.SECONDS));
+            }
+
+            // Waits for queued events when async reporting is on
+            ExtentManager.flushReport();
+
+            assertEquals(THREADS * NODES_PER_THREAD, suite.getModel().getChildren().size(),
+                    "Every node should be attached to the parent");
+            for (ExtentTest node : nodes) {
+                List<Log> logs = node.getModel().getLogs();
+                assertEquals(LOGS_PER_NODE, logs.size(),
+                        "Node '" + node.getModel().getName() + "' should keep all its entries");
+                assertTrue(logs.get(logs.size() - 1).getDetails().contains("completed in"),
+                        "Timer of node '" + node.getModel().getName() + "' should end on its own thread");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ExtentManager.setTestRunner(suite);
+        TestReporter.logPass("All " + nodes(suite) + " nodes reported " + LOGS_PER_NODE + " entries each");
+        TestReporter.endTest("Concurrent Nodes");
+    }
+
+    @Test
+    @DisplayName("REP002: Timers with the same test name are per thread")
+    public void testPerThreadTimers() throws Exception {
+        ExtentTest suite = ExtentManager.createNode(parentTest, "REP002: Timers with the same test name are per thread");
+        TestReporter.logStep("Starting a timer named 'Shared Name' on " + THREADS + " threads at once");
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch started = new CountDownLatch(THREADS);
+        List<Future<ExtentTest>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int threadId = t;
+                futures.add(executor.submit(() -> {
+                    ExtentTest node = ExtentManager.createNode(suite, "Timer worker " + threadId);
+                    TestReporter.startTest("Shared Name");
+                    started.countDown();
+                    // Every thread starts before any of them ends, so a shared timer would be overwritten
+                    started.await();
+                    TestReporter.endTest("Shared Name");
+                    return node;
+                }));
+            }
+
+            for (Future<ExtentTest> future : futures) {
+                ExtentTest node = future.get(30, TimeUnit.SECONDS);
+                ExtentManager.flushReport();
+                long completions = node.getModel().getLogs().stream()
+                        .filter(log -> log.getDetails().contains("'Shared Name' completed in"))
+                        .count();
+                assertEquals(1, completions, "Each thread should end its own timer exactly once");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ExtentManager.setTestRunner(suite);
+        TestReporter.logPass("Each of " + THREADS + " threads ended its own timer");
+    }
+
+    @Test
+    @DisplayName("REP003: Concurrent first getInstance creates a single report")
+    public void testSingleInstance() throws Exception {
+        ExtentManager.createNode(parentTest, "REP003: Concurrent first getInstance creates a single report");
+        int rounds = 5;
+        TestReporter.logStep("Racing " + THREADS + " threads on the first getInstance, " + rounds + " times");
+
+        // This class's ExtentManager is long initialized; a fresh class loader gives each round an uninitialized copy
+        URL reportClasses = ExtentManager.class.getProtectionDomain().getCodeSource().getLocation();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < rounds; round++) {
+                try (URLClassLoader loader = new ReportsClassLoader(reportClasses, getClass().getClassLoader())) {
+                    // Initialize the class up front so the threads race in getInstance, not on class initialization
+                    Method getInstance = Class.forName(ExtentManager.class.getName(), true, loader)
+                            .getMethod("getInstance");
+                    CountDownLatch start = new CountDownLatch(1);
+                    List<Future<Object>> futures = new ArrayList<>();
+                    for (int t = 0; t < THREADS; t++) {
+                        futures.add(executor.submit(() -> {
+                            start.await();
+                            return getInstance.invoke(null);
+                        }));
+                    }
+                    start.countDown();
+
+                    Object first = futures.get(0).get(30, TimeUnit.SECONDS);
+                    assertNotSame(ExtentManager.getInstance(), first, "The round should initialize its own copy");
+                    for (Future<Object> future : futures) {
+                        assertSame(first, future.get(30, TimeUnit.SECONDS), "All threads should share one report");
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        TestReporter.logPass("Every round created exactly one ExtentReports instance");
+    }
+
+    @Test
+    @DisplayName("REP004: Flushing while threads log keeps every entry")
+    public void testFlushWhileLogging() throws Exception {
+        ExtentTest suite = ExtentManager.createNode(parentTest, "REP004: Flushing while threads log keeps every entry");
+        TestReporter.logStep("Flushing the report repeatedly while " + THREADS + " threads log");
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ExtentTest>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int threadId = t;
+                futures.add(executor.submit(() -> {
+                    ExtentTest node = ExtentManager.createNode(suite, "Flush worker " + threadId);
+                    start.await();
+                    for (int i = 0; i < NODES_PER_THREAD * LOGS_PER_NODE; i++) {
+                        TestReporter.logInfo("Flush worker " + threadId + " entry " + i);
+                    }
+                    return node;
+                }));
+            }
+            start.countDown();
+
+            // A flush walks every node's log list; it must never see one being appended to
+            int flushes = 0;
+            while (futures.stream().anyMatch(future -> !future.isDone()) || flushes == 0) {
+                ExtentManager.flushReport();
+                flushes++;
+            }
+            ExtentManager.flushReport();
+            TestReporter.logTestData("Flushes during logging", flushes);
+
+            for (Future<ExtentTest> future : futures) {
+                ExtentTest node = future.get(60, TimeUnit.SECONDS);
+                assertEquals(NODES_PER_THREAD * LOGS_PER_NODE, node.getModel().getLogs().size(),
+                        "Node '" + node.getModel().getName() + "' should keep all its entries");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ExtentManager.setTestRunner(suite);
+        TestReporter.logPass("No entry was lost or raced with a flush");
+    }
+
+    private static int nodes(ExtentTest test) {
+        return test.getModel().getChildren().size();
+    }
+
+    /**
+     * Loads the reports package itself instead of asking its parent, so its static state starts fresh
+     */
+    private static final class ReportsClassLoader extends URLClassLoader {
+        private static final String REPORTS_PACKAGE = ExtentManager.class.getPackageName() + ".";
+
+        ReportsClassLoader(URL classes, ClassLoader parent) {
+            super(new URL[]{classes}, parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith(REPORTS_PACKAGE)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (loaded == null) {
+                    loaded = findClass(name);
+                }
+                if (resolve) {
+                    resolveClass(loaded);
+                }
+                return loaded;
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.qaautomation.contactmanager.reports;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands report events to a single background thread that applies them to Extent.
+ * Producers only enqueue onto a lock-free queue; the bound is enforced with a CAS on
+ * the size counter, and a producer that finds the queue full spins briefly until the
+ * drainer catches up instead of dropping the event. Each event runs while holding the
+ * lock given at construction, so it never overlaps other writers of the same report.
+ */
+class AsyncReportDispatcher {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final ConcurrentLinkedQueue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final int capacity;
+    private final Object lock;
+    private final Thread drainer;
+    private volatile boolean idle;
+    private volatile boolean running = true;
+
+    AsyncReportDispatcher(int capacity, Object lock) {
+        this.capacity = capacity;
+        this.lock = lock;
+        this.drainer = new Thread(this::drainLoop, "extent-report-drainer");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    void submit(Runnable event) {
+        int current;
+        do {
+            current = size.get();
+            if (current >= capacity) {
+                LockSupport.unpark(drainer);
+                Thread.onSpinWait();
+                current = -1;
+            }
+        } while (current < 0 || !size.compareAndSet(current, current + 1));
+
+        submitted.incrementAndGet();
+        queue.offer(event);
+        if (idle) {
+            LockSupport.unpark(drainer);
+        }
+    }
+
+    /**
+     * Blocks until every event submitted before this call has been applied
+     */
+    void awaitDrained() {
+        long target = submitted.get();
+        while (completed.get() < target && drainer.isAlive()) {
+            LockSupport.unpark(drainer);
+            LockSupport.parkNanos(this, 50_000);
+        }
+    }
+
+    /**
+     * Applies every queued event, then stops the drainer thread. Callers must stop
+     * submitting first; events submitted afterwards are never applied.
+     */
+    void shutdown() {
+        running = false;
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainLoop() {
+        while (true) {
+            Runnable event = queue.poll();
+            if (event == null) {
+                if (!running) {
+                    return;
+                }
+                idle = true;
+                if (queue.isEmpty()) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                idle = false;
+                continue;
+            }
+            size.decrementAndGet();
+            try {
+                synchronized (lock) {
+                    event.run();
+                }
+            } catch (RuntimeException e) {
+                System.err.println("[REPORT] Failed to write report event: " + e);
+            }
+            completed.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.qaautomation.contactmanager.reports;
+
+import com.aventstack.extentreports.ExtentTest;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of the asynchronous report dispatcher on its own, without Extent behind it
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class AsyncReportDispatcherTest {
+
+    private static ExtentTest parentTest;
+
+    private final Object lock = new Object();
+    private AsyncReportDispatcher dispatcher;
+
+    @BeforeAll
+    public static void setUpClass() {
+        parentTest = ExtentManager.createTest(
+                "Async Report Dispatcher Tests",
+                "Queue bound, delivery and locking of the report drainer"
+        );
+        TestReporter.logInfo("Async Report Dispatcher Test Suite initialized");
+    }
+
+    @BeforeEach
+    public void setUp(TestInfo testInfo) {
+        ExtentManager.createNode(parentTest, testInfo.getDisplayName());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+            dispatcher = null;
+        }
+    }
+
+    @AfterAll
+    public static void tearDownClass() {
+        TestReporter.logInfo("Async report dispatcher test suite completed");
+        ExtentManager.flushReport();
+    }
+
+    @Test
+    @DisplayName("ARD001: Events run under the report lock")
+    public void testEventsRunUnderLock() throws Exception {
+        TestReporter.startTest("Events run under the report lock");
+        dispatcher = new AsyncReportDispatcher(16, lock);
+
+        TestReporter.logStep("Submitting an event while another thread holds the lock");
+        AtomicBoolean ran = new AtomicBoolean();
+        AtomicBoolean heldLock = new AtomicBoolean();
+        synchronized (lock) {
+            dispatcher.submit(() -> {
+                heldLock.set(Thread.holdsLock(lock));
+                ran.set(true);
+            });
+            TimeUnit.MILLISECONDS.sleep(100);
+            assertFalse(ran.get(), "The event must wait for the lock holder");
+        }
+        dispatcher.awaitDrained();
+
+        assertTrue(ran.get());
+        assertTrue(heldLock.get(), "The drainer should hold the lock while applying the event");
+        TestReporter.logPass("The drainer applied the event only once it held the lock");
+    }
+
+    @Test
+    @DisplayName("ARD002: A full queue blocks producers without dropping events")
+    public void testFullQueueBlocksProducer() throws Exception {
+        TestReporter.startTest("A full queue blocks producers without dropping events");
+        int capacity = 4;
+        dispatcher = new AsyncReportDispatcher(capacity, lock);
+        List<Integer> applied = Collections.synchronizedList(new ArrayList<>());
+
+        TestReporter.logStep("Stalling the drainer, then filling the queue to its capacity of " + capacity);
+        CountDownLatch drainerBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        dispatcher.submit(() -> {
+            drainerBusy.countDown();
+            awaitQuietly(release);
+            applied.add(0);
+        });
+        AtomicBoolean submitted = new AtomicBoolean();
+        Thread producer = new Thread(() -> {
+            dispatcher.submit(() -> applied.add(capacity + 1));
+            submitted.set(true);
+        });
+        try {
+            assertTrue(drainerBusy.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i <= capacity; i++) {
+                int event = i;
+                dispatcher.submit(() -> applied.add(event));
+            }
+
+            TestReporter.logStep("Submitting one more event from another thread");
+            producer.start();
+            producer.join(200);
+            assertFalse(submitted.get(), "The producer should wait while the queue is full");
+        } finally {
+            // Also on failure, so tearDown can stop the drainer
+            release.countDown();
+        }
+        producer.join(5_000);
+        assertTrue(submitted.get(), "The producer should continue once the drainer catches up");
+        dispatcher.awaitDrained();
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i <= capacity + 1; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, applied);
+        TestReporter.logPass("The bound held and every event was applied in order");
+    }
+
+    @Test
+    @DisplayName("ARD003: Every event from concurrent producers is delivered in order")
+    public void testEveryEventDelivered() throws Exception {
+        TestReporter.startTest("Every event from concurrent producers is delivered in order");
+        int producers = 4;
+        int eventsPerProducer = 5_000;
+        // Much smaller than the number of events, so producers keep running into the bound
+        dispatcher = new AsyncReportDispatcher(64, lock);
+        List<List<Integer>> received = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            // Only the drainer thread appends
+            received.add(new ArrayList<>());
+        }
+
+        TestReporter.logStep("Submitting " + producers * eventsPerProducer + " events from " + producers + " threads");
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int p = 0; p < producers; p++) {
+                List<Integer> events = received.get(p);
+                futures.add(executor.submit(() -> {
+                    awaitQuietly(start);
+                    for (int i = 0; i < eventsPerProducer; i++) {
+                        int event = i;
+                        dispatcher.submit(() -> events.add(event));
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        dispatcher.awaitDrained();
+
+        for (int p = 0; p < producers; p++) {
+            List<Integer> events = received.get(p);
+            assertEquals(eventsPerProducer, events.size(), "Producer " + p + " lost events");
+            for (int i = 0; i < eventsPerProducer; i++) {
+                assertEquals(i, events.get(i), "Producer " + p + " events out of order");
+            }
+        }
+        TestReporter.logTestData("Events delivered", producers * eventsPerProducer);
+        TestReporter.logPass("No event was lost, duplicated or reordered within a producer");
+    }
+
+    @Test
+    @DisplayName("ARD004: flushReport applies queued events before writing the report")
+    public void testFlushDrainsQueueFirst() throws Exception {
+        TestReporter.startTest("flushReport applies queued events before writing the report");
+        boolean asyncBefore = ExtentManager.isAsyncReporting();
+        ExtentManager.enableAsyncReporting();
+        try {
+            ExtentTest node = ExtentManager.getTest();
+            int logsBefore = node.getModel().getLogs().size();
+
+            TestReporter.logStep("Stalling the drainer behind a slow event, then queueing log entries");
+            CountDownLatch drainerBusy = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            ExtentManager.dispatch(() -> {
+                drainerBusy.countDown();
+                awaitQuietly(release);
+            });
+            int queued = 100;
+            AtomicBoolean flushed = new AtomicBoolean();
+            Thread flusher = new Thread(() -> {
+                ExtentManager.flushReport();
+                flushed.set(true);
+            });
+            try {
+                assertTrue(drainerBusy.await(5, TimeUnit.SECONDS));
+                for (int i = 0; i < queued; i++) {
+                    TestReporter.logInfo("Queued entry " + i);
+                }
+
+                flusher.start();
+                flusher.join(200);
+                assertFalse(flushed.get(), "flushReport should wait for the queued events");
+            } finally {
+                release.countDown();
+            }
+            flusher.join(10_000);
+            assertTrue(flushed.get());
+            // Step, queued entries: all applied by the time the flush returned
+            assertEquals(logsBefore + 1 + queued, node.getModel().getLogs().size());
+        } finally {
+            if (!asyncBefore) {
+                ExtentManager.disableAsyncReporting();
+            }
+        }
+        TestReporter.logPass("The report was written only after every queued entry was applied");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
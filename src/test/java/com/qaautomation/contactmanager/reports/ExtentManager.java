@@ -14,14 +14,28 @@ import java.util.Date;
 
 public class ExtentManager {
 
-    private static ExtentReports extent ;
-    private static ThreadLocal<ExtentTest> test = new ThreadLocal<>();
+    // Set -Dextent.async=true to write report events from a background thread
+    private static final boolean ASYNC_BY_DEFAULT = Boolean.getBoolean("extent.async");
+    private static final int ASYNC_QUEUE_CAPACITY = 65_536;
+
+    private static volatile ExtentReports extent ;
+    private static final ThreadLocal<ExtentTest> test = new ThreadLocal<>();
+    private static volatile AsyncReportDispatcher asyncDispatcher;
+    // Serializes every report write (inline or on the async drainer) and flushes; Extent's test tree is not safe for concurrent updates
+    private static final Object REPORT_LOCK = new Object();
 
     public static ExtentReports getInstance() {
-        if(extent == null){
-            createInstance();
+        ExtentReports instance = extent;
+        if (instance == null) {
+            synchronized (ExtentManager.class) {
+                instance = extent;
+                if (instance == null) {
+                    instance = createInstance();
+                    extent = instance;
+                }
+            }
         }
-        return extent;
+        return instance;
     }
 
     private static ExtentReports createInstance () {
@@ -36,25 +50,46 @@ public class ExtentManager {
         htmlReporter.config().setTheme(Theme.STANDARD);
         htmlReporter.config().setEncoding("utf-8");
 
-        extent = new ExtentReports();
-        extent.attachReporter(htmlReporter);
+        if (ASYNC_BY_DEFAULT) {
+            enableAsyncReporting();
+        }
+
+        ExtentReports reports = new ExtentReports();
+        reports.attachReporter(htmlReporter);
 
         //System information
-        extent.setSystemInfo("Organization", "QA Automation Portfolio");
-        extent.setSystemInfo("Automation Engineer", "Dragan Stojilkovic");
-        extent.setSystemInfo("Java Version", System.getProperty("java.version"));
-        extent.setSystemInfo("OS", System.getProperty("os.name"));
-        extent.setSystemInfo("Application", "Mobile Phone Contacts Management");
+        reports.setSystemInfo("Organization", "QA Automation Portfolio");
+        reports.setSystemInfo("Automation Engineer", "Dragan Stojilkovic");
+        reports.setSystemInfo("Java Version", System.getProperty("java.version"));
+        reports.setSystemInfo("OS", System.getProperty("os.name"));
+        reports.setSystemInfo("Application", "Mobile Phone Contacts Management");
 
-        return extent;
+        return reports;
     }
 
     public static ExtentTest createTest(String testName, String description){
-        ExtentTest extentTest = getInstance().createTest(testName, description);
+        ExtentReports reports = getInstance();
+        ExtentTest extentTest;
+        synchronized (REPORT_LOCK) {
+            extentTest = reports.createTest(testName, description);
+        }
         test.set(extentTest);
         return extentTest;
     }
 
+    /**
+     * Creates a child node of the parent test and makes it the current thread's test.
+     * Safe to call from parallel test threads sharing one parent.
+     */
+    public static ExtentTest createNode(ExtentTest parent, String nodeName) {
+        ExtentTest node;
+        synchronized (REPORT_LOCK) {
+            node = parent.createNode(nodeName);
+        }
+        test.set(node);
+        return node;
+    }
+
     public static ExtentTest getTest() {
         return test.get();
     }
@@ -63,11 +98,61 @@ public class ExtentManager {
         test.set(testRunner);
     }
 
-    public static void flushReport() {
-        if (extent != null) {
-            extent.flush();
+    /**
+     * Switches report logging to asynchronous mode: TestReporter calls only enqueue
+     * the event and a background thread applies it to Extent
+     */
+    public static synchronized void enableAsyncReporting() {
+        if (asyncDispatcher == null) {
+            asyncDispatcher = new AsyncReportDispatcher(ASYNC_QUEUE_CAPACITY, REPORT_LOCK);
         }
+    }
 
+    /**
+     * Applies the events still queued and switches back to writing events inline.
+     * Call it while no test is logging.
+     */
+    public static synchronized void disableAsyncReporting() {
+        AsyncReportDispatcher dispatcher = asyncDispatcher;
+        if (dispatcher != null) {
+            asyncDispatcher = null;
+            dispatcher.shutdown();
+        }
+    }
 
-}
+    public static boolean isAsyncReporting() {
+        return asyncDispatcher != null;
+    }
+
+    /**
+     * Applies a report event now, or queues it when asynchronous reporting is enabled;
+     * either way it runs under REPORT_LOCK
+     */
+    static void dispatch(Runnable event) {
+        AsyncReportDispatcher dispatcher = asyncDispatcher;
+        if (dispatcher != null) {
+            dispatcher.submit(event);
+        } else {
+            synchronized (REPORT_LOCK) {
+                event.run();
+            }
+        }
+    }
+
+    /**
+     * Writes the report after the events queued so far are applied. Events queued while
+     * flushing take REPORT_LOCK too, so they land before or after the flush, never during it.
+     */
+    public static void flushReport() {
+        AsyncReportDispatcher dispatcher = asyncDispatcher;
+        if (dispatcher != null) {
+            dispatcher.awaitDrained();
+        }
+        ExtentReports reports = extent;
+        if (reports != null) {
+            synchronized (REPORT_LOCK) {
+                reports.flush();
+            }
+        }
     }
+}
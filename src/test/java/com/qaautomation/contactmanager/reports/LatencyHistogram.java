@@ -0,0 +1,133 @@
+package com.qaautomation.contactmanager.reports;
+
+import java.util.function.Supplier;
+
+/**
+ * Fixed-precision latency histogram in the style of HdrHistogram.
+ *
+ * Values are nanoseconds. Values below 256 get an exact bucket each; above that,
+ * every power-of-two range is split into 128 linear sub-buckets, so a reported
+ * percentile is within 1% of the recorded value. Recording is a few shifts and
+ * an array increment, cheap enough to wrap individual sub-microsecond operations.
+ *
+ * Not thread-safe: record from one thread, or give each thread its own histogram
+ * and combine them with add().
+ */
+public class LatencyHistogram {
+
+    private static final int LINEAR_LIMIT = 256;
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int FIRST_EXPONENT = 8;
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (63 - FIRST_EXPONENT) * SUB_BUCKETS;
+
+    private final String operation;
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long totalNanos;
+    private long minNanos = Long.MAX_VALUE;
+    private long maxNanos;
+
+    public LatencyHistogram(String operation) {
+        this.operation = operation;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void recordNanos(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[bucketIndex(value)]++;
+        totalCount++;
+        totalNanos += value;
+        minNanos = Math.min(minNanos, value);
+        maxNanos = Math.max(maxNanos, value);
+    }
+
+    /**
+     * Runs the operation, records how long it took and returns its result
+     */
+    public <T> T record(Supplier<T> operation) {
+        long start = System.nanoTime();
+        T result = operation.get();
+        recordNanos(System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Adds every value recorded by the other histogram to this one
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        totalNanos += other.totalNanos;
+        minNanos = Math.min(minNanos, other.minNanos);
+        maxNanos = Math.max(maxNanos, other.maxNanos);
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getMinNanos() {
+        return totalCount == 0 ? 0 : minNanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public double getMeanNanos() {
+        return totalCount == 0 ? 0 : (double) totalNanos / totalCount;
+    }
+
+    /**
+     * Smallest value that the given percentage of recorded values are at or below,
+     * reported as the upper end of its bucket. Returns 0 for an empty histogram.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        if (totalCount == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(highestEquivalentValue(i), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    private static int bucketIndex(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+        return LINEAR_LIMIT + (exponent - FIRST_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long highestEquivalentValue(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int exponent = (index - LINEAR_LIMIT) / SUB_BUCKETS + FIRST_EXPONENT;
+        long subBucket = (index - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+        return (subBucket << shift) + (1L << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LatencyHistogram{%s, count=%d, p50=%dns, p99=%dns, max=%dns}",
+                operation, totalCount, getValueAtPercentile(50), getValueAtPercentile(99), maxNanos);
+    }
+}
@@ -3,120 +3,119 @@ package com.qaautomation.contactmanager.reports;
 import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.markuputils.MarkupHelper;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public class TestReporter {
 
-    private static final Map<String, Long> testTimers = new HashMap<>();
-    private static final Map<String, List<String>> testDataStore = new HashMap<>();
+    // Timers are keyed by thread and test name, so parallel tests with equal names don't collide
+    private static final Map<String, Long> testTimers = new ConcurrentHashMap<>();
+    private static final Map<String, List<String>> testDataStore = new ConcurrentHashMap<>();
 
-    public static void logInfo(String message) {
+    /**
+     * Routes an event to the current thread's test, or prints it when no test is active.
+     * The test is resolved on the calling thread; formatting and the Extent call itself
+     * run wherever ExtentManager dispatches them (inline, or on the async drainer).
+     */
+    private static void report(Consumer<ExtentTest> event, Supplier<String> consoleMessage) {
         ExtentTest test = ExtentManager.getTest();
         if (test != null) {
-            test.info(message);
+            ExtentManager.dispatch(() -> event.accept(test));
         } else {
-            System.out.println("[INFO] " + message);
+            System.out.println(consoleMessage.get());
         }
     }
 
+    public static void logInfo(String message) {
+        report(test -> test.info(message), () -> "[INFO] " + message);
+    }
+
     public static void logPass(String message) {
-        ExtentTest test = ExtentManager.getTest();
-        if (test != null) {
-            test.pass(message);
-        } else {
-            System.out.println("[PASS] " + message);
-        }
+        report(test -> test.pass(message), () -> "[PASS] " + message);
     }
 
     public static void logFail(String message) {
-        ExtentTest test = ExtentManager.getTest();
-        if (test != null) {
-            test.fail(message);
-        } else {
-            System.out.println("[FAIL] " + message);
-        }
+        report(test -> test.fail(message), () -> "[FAIL] " + message);
     }
 
     public static void logWarning(String message) {
-        ExtentTest test = ExtentManager.getTest();
-        if (test != null) {
-            test.warning(message);
-        } else {
-            System.out.println("[WARN] " + message);
-        }
+        report(test -> test.warning(message), () -> "[WARN] " + message);
     }
 
     public static void startTest(String testName) {
         logInfo("Starting Test: " + testName);
-        testTimers.put(testName, System.currentTimeMillis());
+        testTimers.put(timerKey(testName), System.currentTimeMillis());
     }
 
     public static void endTest(String testName) {
-        Long startTime = testTimers.get(testName);
+        Long startTime = testTimers.remove(timerKey(testName));
         if (startTime != null) {
             long executionTime = System.currentTimeMillis() - startTime;
             logInfo("Test '" + testName + "' completed in " + executionTime + "ms");
-            testTimers.remove(testName);
         }
     }
 
-    public static void logStep(String stepDescription) {
-        ExtentTest test = ExtentManager.getTest();
-        String step = "STEP: " + stepDescription;
+    private static String timerKey(String testName) {
+        return Thread.currentThread().getId() + ":" + testName;
+    }
 
-        if (test != null) {
-            test.info(step);
-        } else {
-            System.out.println(step);
-        }
+    public static void logStep(String stepDescription) {
+        report(test -> test.info("STEP: " + stepDescription), () -> "STEP: " + stepDescription);
     }
 
     public static void logTestData(String dataType, Object data) {
-        ExtentTest test = ExtentManager.getTest();
-
-        if (test != null) {
-            String formattedData;
+        // Tables are rendered on the reporting side, so snapshot mutable collections first
+        Object snapshot = data instanceof List ? new ArrayList<>((List<?>) data)
+                : data instanceof Map ? new LinkedHashMap<>((Map<?, ?>) data) : data;
 
-            if (data instanceof List) {
-                formattedData = formatListAsTable((List<?>) data);
+        report(test -> {
+            if (snapshot instanceof List) {
+                String formattedData = formatListAsTable((List<?>) snapshot);
                 test.info(MarkupHelper.createCodeBlock(dataType + ":\n" + formattedData));
-            } else if (data instanceof Map) {
-                formattedData = formatMapAsTable((Map<?, ?>) data);
+            } else if (snapshot instanceof Map) {
+                String formattedData = formatMapAsTable((Map<?, ?>) snapshot);
                 test.info(MarkupHelper.createCodeBlock(dataType + ":\n" + formattedData));
             } else {
-                formattedData = dataType + ": " + data.toString();
-                test.info(formattedData);
+                test.info(dataType + ": " + snapshot.toString());
             }
-        } else {
-            System.out.println(dataType + ": " + data.toString());
-        }
+        }, () -> dataType + ": " + data.toString());
     }
 
     public static void logDataComparison(String expected, String actual, boolean success) {
-        ExtentTest test = ExtentManager.getTest();
-        String comparison = String.format(
+        report(test -> {
+            String comparison = formatComparison(expected, actual, success);
+            if (success) {
+                test.pass(MarkupHelper.createCodeBlock(comparison));
+            } else {
+                test.fail(MarkupHelper.createCodeBlock(comparison));
+            }
+        }, () -> formatComparison(expected, actual, success));
+    }
+
+    private static String formatComparison(String expected, String actual, boolean success) {
+        return String.format(
                 "DATA COMPARISON:\n" +
                         "   Expected: %s\n" +
                         "   Actual:   %s\n" +
                         "   Result:   %s",
                 expected, actual, success ? "MATCH" : "MISMATCH"
         );
-
-        if (test != null) {
-            if (success) {
-                test.pass(MarkupHelper.createCodeBlock(comparison));
-            } else {
-                test.fail(MarkupHelper.createCodeBlock(comparison));
-            }
-        } else {
-            System.out.println(comparison);
-        }
     }
 
     public static void logPerformanceMetric(String operation, long timeMs) {
+        report(test -> test.info(MarkupHelper.createCodeBlock(formatPerformanceMetric(operation, timeMs))),
+                () -> formatPerformanceMetric(operation, timeMs));
+    }
+
+    private static String formatPerformanceMetric(String operation, long timeMs) {
         String performanceLevel;
         if (timeMs < 100) {
             performanceLevel = "EXCELLENT";
@@ -128,23 +127,75 @@ public class TestReporter {
             performanceLevel = "SLOW";
         }
 
-        String metric = String.format(
+        return String.format(
                 "PERFORMANCE METRIC: %s\n" +
                         "   Time: %d ms\n" +
                         "   Rating: %s",
                 operation, timeMs, performanceLevel
         );
+    }
 
-        ExtentTest test = ExtentManager.getTest();
-        if (test != null) {
-            test.info(MarkupHelper.createCodeBlock(metric));
-        } else {
-            System.out.println(metric);
+    /**
+     * Renders a table of latency percentiles, in microseconds, with one row per histogram
+     */
+    public static void logLatencyHistograms(String title, LatencyHistogram... histograms) {
+        String[][] rows = latencyTable(histograms);
+        report(test -> {
+            test.info("LATENCY: " + title);
+            test.info(MarkupHelper.createTable(rows));
+        }, () -> formatLatencyTable(title, rows));
+    }
+
+    private static final double[] LATENCY_PERCENTILES = {50, 90, 99, 99.9};
+
+    private static String[][] latencyTable(LatencyHistogram... histograms) {
+        String[][] rows = new String[histograms.length + 1][];
+        rows[0] = new String[]{"Operation", "Count", "Mean (us)", "p50 (us)", "p90 (us)",
+                "p99 (us)", "p99.9 (us)", "Max (us)"};
+        for (int i = 0; i < histograms.length; i++) {
+            LatencyHistogram histogram = histograms[i];
+            String[] row = new String[8];
+            row[0] = histogram.getOperation();
+            row[1] = String.valueOf(histogram.getTotalCount());
+            row[2] = formatMicros(histogram.getMeanNanos());
+            for (int p = 0; p < LATENCY_PERCENTILES.length; p++) {
+                row[3 + p] = formatMicros(histogram.getValueAtPercentile(LATENCY_PERCENTILES[p]));
+            }
+            row[7] = formatMicros(histogram.getMaxNanos());
+            rows[i + 1] = row;
+        }
+        return rows;
+    }
+
+    private static String formatMicros(double nanos) {
+        return String.format("%.2f", nanos / 1000.0);
+    }
+
+    private static String formatLatencyTable(String title, String[][] rows) {
+        StringBuilder table = new StringBuilder("LATENCY: ").append(title).append('\n');
+        for (String[] row : rows) {
+            table.append(String.format("   %-20s", row[0]));
+            for (int i = 1; i < row.length; i++) {
+                table.append(String.format(" %11s", row[i]));
+            }
+            table.append('\n');
         }
+        return table.toString();
     }
 
     public static void logValidationResult(String validation, boolean success, String details) {
-        String result = String.format(
+        report(test -> {
+            String result = formatValidationResult(validation, success, details);
+            if (success) {
+                test.pass(MarkupHelper.createCodeBlock(result));
+            } else {
+                test.fail(MarkupHelper.createCodeBlock(result));
+            }
+        }, () -> formatValidationResult(validation, success, details));
+    }
+
+    private static String formatValidationResult(String validation, boolean success, String details) {
+        return String.format(
                 "VALIDATION: %s\n" +
                         "   Result: %s\n" +
                         "   Details: %s",
@@ -152,28 +203,12 @@ public class TestReporter {
                 success ? "PASS" : "FAIL",
                 details
         );
-
-        ExtentTest test = ExtentManager.getTest();
-        if (test != null) {
-            if (success) {
-                test.pass(MarkupHelper.createCodeBlock(result));
-            } else {
-                test.fail(MarkupHelper.createCodeBlock(result));
-            }
-        } else {
-            System.out.println(result);
-        }
     }
 
     public static void logScenarioSetup(String scenario) {
         String setup = "SCENARIO SETUP: " + scenario;
-        ExtentTest test = ExtentManager.getTest();
-
-        if (test != null) {
-            test.info(MarkupHelper.createLabel(setup, com.aventstack.extentreports.markuputils.ExtentColor.BLUE));
-        } else {
-            System.out.println("\n" + setup + "\n" + "=".repeat(50));
-        }
+        report(test -> test.info(MarkupHelper.createLabel(setup, com.aventstack.extentreports.markuputils.ExtentColor.BLUE)),
+                () -> "\n" + setup + "\n" + "=".repeat(50));
     }
 
     public static void logDataIteration(int iteration, String data) {
@@ -182,7 +217,7 @@ public class TestReporter {
     }
 
     public static void storeTestData(String key, String... data) {
-        testDataStore.put(key, Arrays.asList(data));
+        testDataStore.put(key, Collections.unmodifiableList(Arrays.asList(data.clone())));
     }
 
     public static List<String> getTestData(String key) {
@@ -192,7 +227,7 @@ public class TestReporter {
     public static void logScreenshot(String screenshotName) {
         ExtentTest test = ExtentManager.getTest();
         if (test != null) {
-            test.info("Screenshot captured: " + screenshotName);
+            ExtentManager.dispatch(() -> test.info("Screenshot captured: " + screenshotName));
         }
     }
 
@@ -218,12 +253,7 @@ public class TestReporter {
                 (totalTests > 0 ? (passed * 100.0 / totalTests) : 0)
         );
 
-        ExtentTest test = ExtentManager.getTest();
-        if (test != null) {
-            test.info(MarkupHelper.createCodeBlock(summary));
-        } else {
-            System.out.println(summary);
-        }
+        report(test -> test.info(MarkupHelper.createCodeBlock(summary)), () -> summary);
     }
 
     private static String formatListAsTable(List<?> list) {